@@ -0,0 +1,290 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Brandes 介数中心性：按源节点并行，每个工作线程持有自己的 sigma/距离/依赖数组与累加数组，结束后合并。
+ * 近似模式均匀抽样 k 个枢纽源节点，按 n/k 放大依赖和，并根据各枢纽依赖值的样本方差给出每个节点的标准误差。
+ * 无权图按跳数（BFS），带权图按边权（Dijkstra）计算最短路径；无向图的结果除以2。
+ */
+public class BetweennessCentrality {
+    private final CsrGraph csr;
+    private double[] scores;
+    private double[] standardErrors;
+    private int pivotCount;
+    private Map<Node, Double> betweenness;
+
+    public BetweennessCentrality(Graph graph) {
+        this(CsrGraph.from(graph));
+    }
+
+    public BetweennessCentrality(CsrGraph csr) {
+        this.csr = csr;
+    }
+
+    /**
+     * 精确计算：以全部节点为源
+     *
+     * @param parallelism 并行度，小于等于0时使用公共池
+     */
+    public void compute(int parallelism) {
+        int n = csr.getNodeCount();
+        int[] sources = new int[n];
+        for (int i = 0; i < n; i++) {
+            sources[i] = i;
+        }
+        run(sources, false, parallelism);
+    }
+
+    /**
+     * 近似计算：抽样 pivots 个源节点，pivots 不小于节点数时等同于精确计算
+     *
+     * @param pivots      枢纽源节点数
+     * @param seed        抽样随机种子
+     * @param parallelism 并行度，小于等于0时使用公共池
+     */
+    public void computeApproximate(int pivots, long seed, int parallelism) {
+        int n = csr.getNodeCount();
+        if (pivots >= n) {
+            compute(parallelism);
+            return;
+        }
+        // 部分 Fisher-Yates 洗牌，取前 pivots 个作为无放回样本
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < pivots; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        run(Arrays.copyOf(ids, Math.max(pivots, 0)), true, parallelism);
+    }
+
+    private void run(int[] sources, boolean approximate, int parallelism) {
+        int n = csr.getNodeCount();
+        betweenness = null;
+        pivotCount = sources.length;
+        scores = new double[n];
+        standardErrors = new double[n];
+        if (n == 0 || sources.length == 0) {
+            return;
+        }
+
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        AtomicInteger nextSource = new AtomicInteger();
+        double[] sum = new double[n];
+        double[] sumSquares = approximate ? new double[n] : null;
+        try {
+            int workers = Math.min(pool.getParallelism(), sources.length);
+            List<ForkJoinTask<Workspace>> tasks = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                tasks.add(pool.submit(() -> {
+                    Workspace workspace = new Workspace(n, approximate);
+                    int index;
+                    while ((index = nextSource.getAndIncrement()) < sources.length) {
+                        workspace.accumulate(sources[index]);
+                    }
+                    return workspace;
+                }));
+            }
+            for (ForkJoinTask<Workspace> task : tasks) {
+                Workspace workspace = task.join();
+                for (int v = 0; v < n; v++) {
+                    sum[v] += workspace.sum[v];
+                    if (approximate) {
+                        sumSquares[v] += workspace.sumSquares[v];
+                    }
+                }
+            }
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+
+        // 无向图中每条最短路径被两个端点各统计一次
+        double direction = csr.isDirected() ? 1.0 : 0.5;
+        int k = sources.length;
+        double scale = (double) n / k * direction;
+        for (int v = 0; v < n; v++) {
+            scores[v] = sum[v] * scale;
+        }
+        if (approximate && k > 1) {
+            // 样本均值的标准误差，含无放回抽样的有限总体校正
+            double correction = n > 1 ? Math.sqrt((double) (n - k) / (n - 1)) : 0.0;
+            for (int v = 0; v < n; v++) {
+                double mean = sum[v] / k;
+                double variance = Math.max(0.0, (sumSquares[v] - k * mean * mean) / (k - 1));
+                standardErrors[v] = n * direction * Math.sqrt(variance / k) * correction;
+            }
+        }
+    }
+
+    // 工作线程私有的单源计算数组，重置只清理上一个源触达的节点
+    private final class Workspace {
+        private final double[] dist;
+        private final double[] sigma;
+        private final double[] delta;
+        private final int[] order; // 按距离非降序的结算顺序，无权图兼作BFS队列
+        private final IndexedHeap heap;
+        private final double[] sum;
+        private final double[] sumSquares;
+
+        Workspace(int n, boolean approximate) {
+            this.dist = new double[n];
+            this.sigma = new double[n];
+            this.delta = new double[n];
+            this.order = new int[n];
+            this.heap = csr.isWeighted() ? new IndexedHeap(n) : null;
+            this.sum = new double[n];
+            this.sumSquares = approximate ? new double[n] : null;
+            Arrays.fill(dist, Double.MAX_VALUE);
+        }
+
+        void accumulate(int source) {
+            int count = csr.isWeighted() ? dijkstra(source) : bfs(source);
+
+            // 逆结算顺序回传依赖：delta[v] += sigma[v] / sigma[w] * (1 + delta[w])，前驱从入边按距离判定
+            int[] inOffsets = csr.getInOffsets();
+            int[] inSources = csr.getInSources();
+            double[] inWeights = csr.getInWeights();
+            boolean weighted = csr.isWeighted();
+            for (int i = count - 1; i > 0; i--) {
+                int w = order[i];
+                double coefficient = (1.0 + delta[w]) / sigma[w];
+                for (int e = inOffsets[w]; e < inOffsets[w + 1]; e++) {
+                    int v = inSources[e];
+                    double step = weighted ? inWeights[e] : 1.0;
+                    if (dist[v] != Double.MAX_VALUE && dist[v] + step == dist[w]) {
+                        delta[v] += sigma[v] * coefficient;
+                    }
+                }
+                sum[w] += delta[w];
+                if (sumSquares != null) {
+                    sumSquares[w] += delta[w] * delta[w];
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                int v = order[i];
+                dist[v] = Double.MAX_VALUE;
+                sigma[v] = 0.0;
+                delta[v] = 0.0;
+            }
+        }
+
+        // 返回结算节点数
+        private int bfs(int source) {
+            int[] offsets = csr.getOffsets();
+            int[] targets = csr.getTargets();
+            int head = 0;
+            int tail = 0;
+            dist[source] = 0.0;
+            sigma[source] = 1.0;
+            order[tail++] = source;
+            while (head < tail) {
+                int v = order[head++];
+                double next = dist[v] + 1.0;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int w = targets[e];
+                    if (dist[w] == Double.MAX_VALUE) {
+                        dist[w] = next;
+                        order[tail++] = w;
+                    }
+                    if (dist[w] == next) {
+                        sigma[w] += sigma[v];
+                    }
+                }
+            }
+            return tail;
+        }
+
+        private int dijkstra(int source) {
+            int[] offsets = csr.getOffsets();
+            int[] targets = csr.getTargets();
+            double[] weights = csr.getWeights();
+            int count = 0;
+            dist[source] = 0.0;
+            sigma[source] = 1.0;
+            heap.insertOrDecrease(source, 0.0);
+            while (!heap.isEmpty()) {
+                int v = heap.poll();
+                order[count++] = v;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int w = targets[e];
+                    double newDist = dist[v] + weights[e];
+                    if (newDist < dist[w]) {
+                        dist[w] = newDist;
+                        sigma[w] = sigma[v];
+                        heap.insertOrDecrease(w, newDist);
+                    } else if (newDist == dist[w]) {
+                        sigma[w] += sigma[v];
+                    }
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 按CSR节点编号索引的介数
+     */
+    public double[] getScores() {
+        return scores;
+    }
+
+    /**
+     * 按CSR节点编号索引的标准误差估计，精确计算时全为0
+     */
+    public double[] getStandardErrors() {
+        return standardErrors;
+    }
+
+    /**
+     * 所有节点中最大的标准误差，作为近似结果的整体误差估计
+     */
+    public double getMaxStandardError() {
+        double max = 0.0;
+        if (standardErrors != null) {
+            for (double error : standardErrors) {
+                max = Math.max(max, error);
+            }
+        }
+        return max;
+    }
+
+    public int getPivotCount() {
+        return pivotCount;
+    }
+
+    public boolean isApproximate() {
+        return scores != null && pivotCount < scores.length;
+    }
+
+    public Map<Node, Double> getBetweenness() {
+        if (betweenness == null) {
+            betweenness = new HashMap<>();
+            if (scores != null) {
+                for (int i = 0; i < scores.length; i++) {
+                    betweenness.put(csr.getNode(i), scores[i]);
+                }
+            }
+        }
+        return betweenness;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+}
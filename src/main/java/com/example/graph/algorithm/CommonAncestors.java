@@ -0,0 +1,226 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 本地共同祖先引擎：祖先沿入边查找（与 __.in(...) 一致），每个人按层 BFS 得到深度受限的祖先闭包，
+ * 闭包以稠密节点编号上的位图表示，多人并行展开；按基数从小到大逐字按位与求交，交集为空时提前结束。
+ * 共同祖先按各人到它的深度之和排序，深度和越小越近。
+ */
+public class CommonAncestors {
+    private final CsrGraph csr;
+
+    public CommonAncestors(Graph graph) {
+        this(CsrGraph.from(graph));
+    }
+
+    public CommonAncestors(CsrGraph csr) {
+        this.csr = csr;
+    }
+
+    /**
+     * 共同祖先及各人到它的深度
+     */
+    public static final class Ancestor {
+        private final Node node;
+        private final int totalDepth;
+        private final int[] depths;
+
+        Ancestor(Node node, int totalDepth, int[] depths) {
+            this.node = node;
+            this.totalDepth = totalDepth;
+            this.depths = depths;
+        }
+
+        public Node getNode() {
+            return node;
+        }
+
+        public int getTotalDepth() {
+            return totalDepth;
+        }
+
+        /**
+         * 按输入顺序排列的各人到该祖先的层数
+         */
+        public int[] getDepths() {
+            return depths;
+        }
+
+        public int getMaxDepth() {
+            int max = 0;
+            for (int depth : depths) {
+                max = Math.max(max, depth);
+            }
+            return max;
+        }
+    }
+
+    // 一个人的祖先闭包：bits 不含本人，depth 为各祖先的最小层数
+    private static final class Closure {
+        private final long[] bits;
+        private final byte[] depth;
+        private final int cardinality;
+
+        Closure(long[] bits, byte[] depth, int cardinality) {
+            this.bits = bits;
+            this.depth = depth;
+            this.cardinality = cardinality;
+        }
+    }
+
+    /**
+     * 查找所有人在 maxDepth 层内的共同祖先，本人不算作自己的祖先
+     *
+     * @param persons     至少一个人，任一人不在图中时结果为空
+     * @param maxDepth    向上查找的最大层数
+     * @param limit       最多返回的祖先数，小于等于0时不限制
+     * @param parallelism 并行度，小于等于0时使用公共池
+     */
+    public List<Ancestor> find(List<Node> persons, int maxDepth, int limit, int parallelism) {
+        if (persons.isEmpty() || maxDepth <= 0) {
+            return Collections.emptyList();
+        }
+        int[] starts = new int[persons.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = csr.indexOf(persons.get(i));
+            if (starts[i] < 0) {
+                return Collections.emptyList();
+            }
+        }
+        // 层数存为 byte
+        int depthBound = Math.min(maxDepth, Byte.MAX_VALUE);
+
+        Closure[] closures = new Closure[starts.length];
+        if (starts.length == 1) {
+            closures[0] = closure(starts[0], depthBound);
+        } else {
+            ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+            try {
+                List<ForkJoinTask<Closure>> tasks = new ArrayList<>();
+                for (int start : starts) {
+                    tasks.add(pool.submit(() -> closure(start, depthBound)));
+                }
+                for (int i = 0; i < closures.length; i++) {
+                    closures[i] = tasks.get(i).join();
+                }
+            } finally {
+                if (pool != ForkJoinPool.commonPool()) {
+                    pool.shutdown();
+                }
+            }
+        }
+
+        long[] common = intersect(closures);
+        if (common == null) {
+            return Collections.emptyList();
+        }
+
+        List<Ancestor> ancestors = new ArrayList<>();
+        for (int w = 0; w < common.length; w++) {
+            long word = common[w];
+            while (word != 0) {
+                int v = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                int[] depths = new int[closures.length];
+                int total = 0;
+                for (int i = 0; i < closures.length; i++) {
+                    depths[i] = closures[i].depth[v];
+                    total += depths[i];
+                }
+                ancestors.add(new Ancestor(csr.getNode(v), total, depths));
+            }
+        }
+        ancestors.sort(Comparator.comparingInt(Ancestor::getTotalDepth)
+                .thenComparingInt(Ancestor::getMaxDepth)
+                .thenComparing(a -> a.getNode().getId()));
+        return limit > 0 && ancestors.size() > limit ? new ArrayList<>(ancestors.subList(0, limit)) : ancestors;
+    }
+
+    // 沿入边逐层扩展，最多 maxDepth 层
+    private Closure closure(int start, int maxDepth) {
+        int n = csr.getNodeCount();
+        int[] inOffsets = csr.getInOffsets();
+        int[] inSources = csr.getInSources();
+        long[] bits = new long[(n + 63) >>> 6];
+        byte[] depth = new byte[n];
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        int frontierSize = 1;
+        int cardinality = 0;
+        frontier[0] = start;
+        bits[start >>> 6] |= 1L << start;
+        for (int level = 1; level <= maxDepth && frontierSize > 0; level++) {
+            int nextSize = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                int v = frontier[i];
+                for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                    int u = inSources[e];
+                    long mask = 1L << u;
+                    if ((bits[u >>> 6] & mask) == 0) {
+                        bits[u >>> 6] |= mask;
+                        depth[u] = (byte) level;
+                        next[nextSize++] = u;
+                    }
+                }
+            }
+            cardinality += nextSize;
+            int[] tmp = frontier;
+            frontier = next;
+            next = tmp;
+            frontierSize = nextSize;
+        }
+        // 起点只用于去重，经环路回到本人也不算祖先
+        bits[start >>> 6] &= ~(1L << start);
+        return new Closure(bits, depth, cardinality);
+    }
+
+    // 从最小的闭包开始按位与，只扫描其非零字区间；交集为空时返回 null
+    private static long[] intersect(Closure[] closures) {
+        Closure[] ordered = closures.clone();
+        Arrays.sort(ordered, Comparator.comparingInt(c -> c.cardinality));
+        if (ordered[0].cardinality == 0) {
+            return null;
+        }
+        long[] result = ordered[0].bits.clone();
+        int lo = 0;
+        int hi = result.length - 1;
+        while (result[lo] == 0) {
+            lo++;
+        }
+        while (result[hi] == 0) {
+            hi--;
+        }
+        for (int i = 1; i < ordered.length; i++) {
+            long[] other = ordered[i].bits;
+            int newLo = -1;
+            int newHi = -1;
+            for (int w = lo; w <= hi; w++) {
+                long word = result[w] & other[w];
+                result[w] = word;
+                if (word != 0) {
+                    if (newLo < 0) {
+                        newLo = w;
+                    }
+                    newHi = w;
+                }
+            }
+            if (newLo < 0) {
+                return null;
+            }
+            lo = newLo;
+            hi = newHi;
+        }
+        return result;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+}
@@ -1,218 +1,381 @@
 package com.example.graph.algorithm;
 
+import com.example.graph.core.CsrGraph;
 import com.example.graph.core.Graph;
 import com.example.graph.core.Node;
-import com.example.graph.core.Edge; // 添加Edge导入
 import java.util.*;
 
+/**
+ * Louvain 社区检测（多层）
+ * 每一层先做局部移动，再把社区折叠为超级节点构成加权粗化图，重复直到模块度不再提升。
+ * 模块度按标准定义计算：Q = Σ_c [in_c / 2m - (tot_c / 2m)^2]，粗化图中社区内部权重以自环保存。
+ */
 public class CommunityDetection {
-    private final Graph graph;
-    private Map<Node, Integer> communities; // 节点到社区的映射
+    private final CsrGraph csr;
+    private final int[] communities; // 节点编号到社区的映射
     private Map<Integer, List<Node>> communitiesMap; // 社区到节点列表的映射
     private double modularity; // 最终模块度值
-    private int nextCommunityId; // 新社区ID生成器
+    private final List<LevelStats> levelStats = new ArrayList<>(); // 每层统计信息
 
-    // 边权重缓存（提升性能）
-    private final Map<Node, Map<Node, Double>> edgeWeightCache = new HashMap<>();
+    private static final int MAX_LEVELS = 32;
+    private static final int MAX_ITERATIONS = 100;
+    private static final double MIN_DELTA_Q = 1e-6;
 
     public CommunityDetection(Graph graph) {
-        this.graph = graph;
-        this.communities = new HashMap<>();
-        this.nextCommunityId = 0;
-        initializeCommunities();
-        initializeEdgeCache(); // 初始化边权重缓存
+        this(CsrGraph.from(graph));
     }
 
-    // 初始化边权重缓存
-    private void initializeEdgeCache() {
-        for (Node node : graph.getNodes()) {
-            Map<Node, Double> neighborWeights = new HashMap<>();
-            for (Edge edge : graph.getEdgesFromNode(node)) {
-                neighborWeights.put(edge.getDestination(), edge.getWeight());
-            }
-            edgeWeightCache.put(node, neighborWeights);
-        }
+    public CommunityDetection(CsrGraph csr) {
+        this.csr = csr;
+        this.communities = new int[csr.getNodeCount()];
+        initializeCommunities();
     }
 
     // 初始化：每个节点独立社区
     private void initializeCommunities() {
-        for (Node node : graph.getNodes()) {
-            communities.put(node, nextCommunityId++);
+        for (int i = 0; i < communities.length; i++) {
+            communities[i] = i;
         }
     }
 
-    // 主检测方法（优化版）
+    // 主检测方法（多层Louvain）
     public void detectCommunities() {
-        if (graph.getNodes().isEmpty()) {
+        levelStats.clear();
+        communitiesMap = null;
+        initializeCommunities();
+        if (communities.length == 0) {
             modularity = 0.0;
             return;
         }
 
-        double totalWeight = graph.getTotalEdgeWeight();
-        if (totalWeight <= 0) {
+        // 弧权重总和 = 2m（无向图每条边两个方向各计一次）
+        double totalArcWeight = csr.getTotalWeight();
+        if (totalArcWeight <= 0) {
             modularity = 0.0;
             return;
         }
 
-        Map<Node, Double> nodeWeights = precomputeNodeWeights();
-        Map<Integer, Double> communityWeights = precomputeCommunityWeights(nodeWeights);
-        Map<Node, Map<Integer, Double>> nodeCommunityWeights = new HashMap<>();
+        CsrGraph level = csr;
+        double currentModularity = singletonModularity(level, totalArcWeight);
+
+        for (int depth = 0; depth < MAX_LEVELS; depth++) {
+            int[] levelCommunities = identity(level.getNodeCount());
+            int[] counters = new int[2]; // {移动次数, 迭代次数}
+            double newModularity = moveNodes(level, levelCommunities, totalArcWeight, currentModularity, counters);
+            int communityCount = renumber(levelCommunities);
+            // 原始节点 -> 本层节点 -> 本层社区（即下一层节点）
+            int[] membership = new int[communities.length];
+            for (int i = 0; i < communities.length; i++) {
+                membership[i] = levelCommunities[communities[i]];
+            }
+            levelStats.add(new LevelStats(depth, level.getNodeCount(), communityCount,
+                    counters[0], counters[1], newModularity, membership));
+
+            if (counters[0] == 0 || newModularity - currentModularity < MIN_DELTA_Q) {
+                break;
+            }
+
+            System.arraycopy(membership, 0, communities, 0, communities.length);
+            currentModularity = newModularity;
+            if (communityCount == level.getNodeCount()) {
+                break;
+            }
+            level = aggregate(level, levelCommunities, communityCount);
+        }
 
-        boolean changed;
-        double currentModularity = Double.NEGATIVE_INFINITY;
+        modularity = currentModularity;
+        buildCommunitiesMap();
+    }
+
+    /**
+     * 局部移动阶段：反复随机遍历节点，把节点移到增益最大的相邻社区，直到一轮内没有有效移动。
+     * 社区状态保存在 sigmaTot/sigmaIn 数组中，模块度随每次移动增量更新，返回本层结束时的模块度。
+     */
+    private double moveNodes(CsrGraph level, int[] levelCommunities, double totalArcWeight,
+            double modularity, int[] counters) {
+        int n = level.getNodeCount();
+        int[] offsets = level.getOffsets();
+        int[] targets = level.getTargets();
+        double[] weights = level.getWeights();
+        double m = totalArcWeight / 2;
+
+        // 节点度与自环权重（聚合后社区内部权重以自环形式出现）
+        double[] nodeWeights = new double[n];
+        double[] selfLoops = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                nodeWeights[i] += weights[e];
+                if (targets[e] == i) {
+                    selfLoops[i] += weights[e];
+                }
+            }
+        }
+
+        // 社区编号范围 [0, n)，初始每个节点独立成社区
+        double[] sigmaTot = new double[n]; // 社区内节点度之和
+        double[] sigmaIn = new double[n]; // 社区内部弧权重之和
+        for (int i = 0; i < n; i++) {
+            sigmaTot[levelCommunities[i]] += nodeWeights[i];
+            sigmaIn[levelCommunities[i]] += selfLoops[i];
+        }
+        // 空社区编号栈，节点需要独立成新社区时取用
+        int[] emptyCommunities = new int[n];
+        int emptyCount = 0;
+
+        // 邻居社区累加器：按社区编号稠密存放连接权重，neighborList 记录本节点触达的社区，逐节点清空
+        double[] neighborWeights = new double[n];
+        boolean[] neighborSeen = new boolean[n];
+        int[] neighborList = new int[n];
+
+        int[] order = identity(n);
+        Random random = new Random();
         int iteration = 0;
-        final int MAX_ITERATIONS = 100;
-        final double MIN_DELTA_Q = 1e-6;
 
-        do {
-            changed = false;
+        while (iteration < MAX_ITERATIONS) {
             iteration++;
+            double iterationStart = modularity;
 
-            // 随机遍历节点，减少顺序偏差
-            List<Node> nodes = new ArrayList<>(graph.getNodes());
-            Collections.shuffle(nodes);
+            // 随机遍历节点，减少顺序偏差（原地洗牌，复用同一数组）
+            shuffle(order, random);
 
             int moves = 0;
 
-            for (Node node : nodes) {
-                int currentCommunity = communities.get(node);
-                double nodeWeight = nodeWeights.get(node);
+            for (int node : order) {
+                int currentCommunity = levelCommunities[node];
+                double nodeWeight = nodeWeights[node];
 
-                double ki_in_current = getCachedNodeCommunityWeight(
-                        node, currentCommunity, nodeCommunityWeights);
-                double currentCommunityWeight = communityWeights.get(currentCommunity);
-
-                // 临时移除节点
-                communityWeights.put(currentCommunity, currentCommunityWeight - nodeWeight);
-
-                // 优化：邻居社区集合去重
-                Set<Integer> neighborCommunities = new HashSet<>();
-                for (Node neighbor : graph.getNeighbors(node)) {
-                    int neighborComm = communities.get(neighbor);
-                    if (neighborComm != currentCommunity) {
-                        neighborCommunities.add(neighborComm);
+                // 累加节点到各邻居社区的连接权重（不含自环）
+                int neighborCount = 0;
+                for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                    int neighbor = targets[e];
+                    if (neighbor == node) {
+                        continue;
+                    }
+                    int neighborComm = levelCommunities[neighbor];
+                    if (!neighborSeen[neighborComm]) {
+                        neighborSeen[neighborComm] = true;
+                        neighborList[neighborCount++] = neighborComm;
                     }
+                    neighborWeights[neighborComm] += weights[e];
                 }
+                double ki_in_current = neighborWeights[currentCommunity];
 
+                // 临时移除节点
+                double before = contribution(sigmaIn[currentCommunity], sigmaTot[currentCommunity], totalArcWeight);
+                sigmaTot[currentCommunity] -= nodeWeight;
+                sigmaIn[currentCommunity] -= 2 * ki_in_current + selfLoops[node];
+
+                // 基准为放回原社区的增益，只有严格更优时才移动
                 int bestCommunity = currentCommunity;
-                double bestDeltaQ = 0.0;
-                double stayDeltaQ = calculateDeltaQ(
-                        ki_in_current,
-                        currentCommunityWeight - nodeWeight,
-                        nodeWeight,
-                        totalWeight);
-
-                // 只遍历不同的邻居社区
-                for (int neighborComm : neighborCommunities) {
-                    double ki_in_neighbor = getCachedNodeCommunityWeight(node, neighborComm, nodeCommunityWeights);
-                    double deltaQ = calculateDeltaQ(
-                            ki_in_neighbor,
-                            communityWeights.getOrDefault(neighborComm, 0.0),
-                            nodeWeight,
-                            totalWeight);
+                double bestDeltaQ = calculateDeltaQ(ki_in_current, sigmaTot[currentCommunity], nodeWeight, m);
+
+                for (int k = 0; k < neighborCount; k++) {
+                    int neighborComm = neighborList[k];
+                    if (neighborComm == currentCommunity) {
+                        continue;
+                    }
+                    double deltaQ = calculateDeltaQ(neighborWeights[neighborComm], sigmaTot[neighborComm],
+                            nodeWeight, m);
                     if (deltaQ > bestDeltaQ) {
                         bestDeltaQ = deltaQ;
                         bestCommunity = neighborComm;
                     }
                 }
 
-                // 考虑新社区
-                double isolationDeltaQ = -stayDeltaQ - (nodeWeight * nodeWeight) / (2 * totalWeight * totalWeight);
-                if (isolationDeltaQ > bestDeltaQ) {
-                    bestDeltaQ = isolationDeltaQ;
-                    bestCommunity = nextCommunityId++;
+                // 考虑新社区（空社区增益为0）
+                if (bestDeltaQ < 0 && sigmaTot[currentCommunity] > 0 && emptyCount > 0) {
+                    bestCommunity = emptyCommunities[--emptyCount];
                 }
 
-                // 仅当有正增益时才移动
-                if (bestDeltaQ > 0 && bestCommunity != currentCommunity) {
-                    communityWeights.merge(bestCommunity, nodeWeight, Double::sum);
-                    communities.put(node, bestCommunity);
-                    changed = true;
+                double ki_in_best = bestCommunity == currentCommunity ? ki_in_current : neighborWeights[bestCommunity];
+                if (bestCommunity != currentCommunity) {
+                    // 增量更新模块度：只有源社区与目标社区的贡献发生变化
+                    modularity += contribution(sigmaIn[currentCommunity], sigmaTot[currentCommunity], totalArcWeight)
+                            - before
+                            - contribution(sigmaIn[bestCommunity], sigmaTot[bestCommunity], totalArcWeight);
+                    if (sigmaTot[currentCommunity] <= 0) {
+                        emptyCommunities[emptyCount++] = currentCommunity;
+                    }
+                }
+                sigmaTot[bestCommunity] += nodeWeight;
+                sigmaIn[bestCommunity] += 2 * ki_in_best + selfLoops[node];
+                if (bestCommunity != currentCommunity) {
+                    modularity += contribution(sigmaIn[bestCommunity], sigmaTot[bestCommunity], totalArcWeight);
+                    levelCommunities[node] = bestCommunity;
                     moves++;
-                    updateNodeCommunityCache(node, currentCommunity, bestCommunity, nodeCommunityWeights);
-                } else {
-                    // 节点未移动，恢复社区权重
-                    communityWeights.put(currentCommunity, currentCommunityWeight);
                 }
-            }
 
-            // 增量更新模块度（只在节点移动时）
-            double newModularity = calculateModularity(totalWeight, nodeWeights);
+                // 清空累加器
+                for (int k = 0; k < neighborCount; k++) {
+                    neighborWeights[neighborList[k]] = 0.0;
+                    neighborSeen[neighborList[k]] = false;
+                }
+            }
+            counters[0] += moves;
 
             // 自适应终止条件
-            if (newModularity - currentModularity < MIN_DELTA_Q || moves == 0 || iteration >= MAX_ITERATIONS) {
-                changed = false;
-            } else {
-                currentModularity = newModularity;
+            if (moves == 0 || modularity - iterationStart < MIN_DELTA_Q) {
+                break;
             }
-        } while (changed);
+        }
+        counters[1] += iteration;
+        return modularity;
+    }
 
-        modularity = currentModularity;
-        buildCommunitiesMap();
+    // 单个社区对模块度的贡献：in_c / 2m - (tot_c / 2m)^2
+    static double contribution(double sigmaIn, double sigmaTot, double totalArcWeight) {
+        double share = sigmaTot / totalArcWeight;
+        return sigmaIn / totalArcWeight - share * share;
     }
 
-    // 预计算节点权重（节点度数）
-    private Map<Node, Double> precomputeNodeWeights() {
-        Map<Node, Double> nodeWeights = new HashMap<>();
-        for (Node node : graph.getNodes()) {
-            nodeWeights.put(node, getNodeWeight(node));
+    // 按给定划分计算模块度（划分编号须在 [0, n) 内）
+    static double modularity(CsrGraph level, int[] partition, double totalArcWeight) {
+        int n = level.getNodeCount();
+        int[] offsets = level.getOffsets();
+        int[] targets = level.getTargets();
+        double[] weights = level.getWeights();
+        double[] sigmaIn = new double[n];
+        double[] sigmaTot = new double[n];
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                sigmaTot[partition[v]] += weights[e];
+                if (partition[targets[e]] == partition[v]) {
+                    sigmaIn[partition[v]] += weights[e];
+                }
+            }
         }
-        return nodeWeights;
+        double q = 0.0;
+        for (int c = 0; c < n; c++) {
+            if (sigmaTot[c] > 0) {
+                q += contribution(sigmaIn[c], sigmaTot[c], totalArcWeight);
+            }
+        }
+        return q;
     }
 
-    // 预计算社区总权重
-    private Map<Integer, Double> precomputeCommunityWeights(Map<Node, Double> nodeWeights) {
-        Map<Integer, Double> communityWeights = new HashMap<>();
-        for (Map.Entry<Node, Integer> entry : communities.entrySet()) {
-            Node node = entry.getKey();
-            int commId = entry.getValue();
-            communityWeights.merge(commId, nodeWeights.get(node), Double::sum);
+    // 每个节点独立成社区时的模块度
+    private static double singletonModularity(CsrGraph level, double totalArcWeight) {
+        int[] offsets = level.getOffsets();
+        int[] targets = level.getTargets();
+        double[] weights = level.getWeights();
+        double q = 0.0;
+        for (int i = 0; i < level.getNodeCount(); i++) {
+            double degree = 0.0;
+            double selfLoop = 0.0;
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                degree += weights[e];
+                if (targets[e] == i) {
+                    selfLoop += weights[e];
+                }
+            }
+            q += contribution(selfLoop, degree, totalArcWeight);
         }
-        return communityWeights;
+        return q;
     }
 
-    // 获取缓存的节点-社区连接权重
-    private double getCachedNodeCommunityWeight(Node node, int communityId,
-            Map<Node, Map<Integer, Double>> cache) {
-        // 优先从缓存获取
-        if (cache.containsKey(node) && cache.get(node).containsKey(communityId)) {
-            return cache.get(node).get(communityId);
+    /**
+     * 聚合阶段：每个社区折叠为一个超级节点，社区间边权累加，社区内部权重保存为自环
+     */
+    static CsrGraph aggregate(CsrGraph level, int[] levelCommunities, int communityCount) {
+        int n = level.getNodeCount();
+        int[] offsets = level.getOffsets();
+        int[] targets = level.getTargets();
+        double[] weights = level.getWeights();
+
+        // 按社区对成员做计数排序
+        int[] memberOffsets = new int[communityCount + 1];
+        for (int c : levelCommunities) {
+            memberOffsets[c + 1]++;
+        }
+        for (int c = 0; c < communityCount; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(memberOffsets, communityCount);
+        for (int i = 0; i < n; i++) {
+            members[cursor[levelCommunities[i]]++] = i;
         }
 
-        // 缓存未命中则计算并缓存
-        double weight = calculateNodeCommunityWeight(node, communityId);
-        cache.computeIfAbsent(node, k -> new HashMap<>())
-                .put(communityId, weight);
-        return weight;
+        // 稠密累加器 + 触达列表，逐个社区生成一行
+        double[] accumulator = new double[communityCount];
+        boolean[] seen = new boolean[communityCount];
+        int[] touched = new int[communityCount];
+        int[] newOffsets = new int[communityCount + 1];
+        int[] newTargets = new int[Math.max(16, level.getArcCount())];
+        double[] newWeights = new double[newTargets.length];
+        int arcs = 0;
+        for (int c = 0; c < communityCount; c++) {
+            int touchedCount = 0;
+            for (int k = memberOffsets[c]; k < memberOffsets[c + 1]; k++) {
+                int u = members[k];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int d = levelCommunities[targets[e]];
+                    if (!seen[d]) {
+                        seen[d] = true;
+                        touched[touchedCount++] = d;
+                    }
+                    accumulator[d] += weights[e];
+                }
+            }
+            for (int t = 0; t < touchedCount; t++) {
+                int d = touched[t];
+                newTargets[arcs] = d;
+                newWeights[arcs] = accumulator[d];
+                arcs++;
+                accumulator[d] = 0.0;
+                seen[d] = false;
+            }
+            newOffsets[c + 1] = arcs;
+        }
+
+        Node[] superNodes = new Node[communityCount];
+        for (int c = 0; c < communityCount; c++) {
+            superNodes[c] = new Node(String.valueOf(c));
+        }
+        return new CsrGraph(superNodes, newOffsets, Arrays.copyOf(newTargets, arcs),
+                Arrays.copyOf(newWeights, arcs), level.isDirected(), true);
     }
 
-    // 更新节点社区缓存（移动节点后）
-    private void updateNodeCommunityCache(Node node, int oldComm, int newComm,
-            Map<Node, Map<Integer, Double>> cache) {
-        // 清除旧社区缓存
-        if (cache.containsKey(node)) {
-            cache.get(node).remove(oldComm);
-
-            // 更新邻居节点的缓存
-            for (Node neighbor : graph.getNeighbors(node)) {
-                if (cache.containsKey(neighbor)) {
-                    // 从旧社区移除
-                    cache.get(neighbor).computeIfPresent(oldComm, (k, v) -> v - getEdgeWeight(node, neighbor));
-                    // 添加到新社区
-                    cache.get(neighbor).merge(newComm, getEdgeWeight(node, neighbor), Double::sum);
-                }
+    static int[] identity(int n) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    // 把社区编号压缩为 [0, k)，返回社区数
+    static int renumber(int[] levelCommunities) {
+        int[] dense = new int[levelCommunities.length];
+        Arrays.fill(dense, -1);
+        int count = 0;
+        for (int i = 0; i < levelCommunities.length; i++) {
+            int c = levelCommunities[i];
+            if (dense[c] < 0) {
+                dense[c] = count++;
             }
+            levelCommunities[i] = dense[c];
+        }
+        return count;
+    }
+
+    static void shuffle(int[] order, Random random) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
         }
     }
 
     /**
      * 计算模块度变化ΔQ（核心公式）
      * ΔQ = [ki_in / m] - [Σ_tot * ki / (2 * m * m)]
-     * 
+     *
      * @param ki_in       节点在目标社区的连接权重
      * @param sigma_tot   目标社区总权重
      * @param nodeWeight  节点权重
-     * @param totalWeight 图的总权重
+     * @param totalWeight 图的总边权 m
      * @return 模块度变化值
      */
     private double calculateDeltaQ(double ki_in, double sigma_tot,
@@ -224,10 +387,20 @@ public class CommunityDetection {
      * 计算节点在指定社区内的连接权重
      */
     public double calculateNodeCommunityWeight(Node node, int communityId) {
+        int id = csr.indexOf(node);
+        return id < 0 ? 0.0 : calculateNodeCommunityWeight(csr, communities, id, communityId);
+    }
+
+    // 不含自环：自环权重始终随节点移动，不影响增益比较
+    private static double calculateNodeCommunityWeight(CsrGraph level, int[] levelCommunities,
+            int node, int communityId) {
+        int[] offsets = level.getOffsets();
+        int[] targets = level.getTargets();
+        double[] weights = level.getWeights();
         double weight = 0.0;
-        for (Node neighbor : graph.getNeighbors(node)) {
-            if (communities.get(neighbor) == communityId) {
-                weight += getEdgeWeight(node, neighbor);
+        for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+            if (targets[e] != node && levelCommunities[targets[e]] == communityId) {
+                weight += weights[e];
             }
         }
         return weight;
@@ -237,24 +410,22 @@ public class CommunityDetection {
      * 计算节点权重（度）
      */
     public double getNodeWeight(Node node) {
-        return graph.getEdgesFromNode(node).stream()
-                .mapToDouble(edge -> edge.getWeight())
-                .sum();
+        int id = csr.indexOf(node);
+        return id < 0 ? 0.0 : csr.getWeightedDegree(id);
     }
 
     /**
-     * 获取边权重（使用缓存提升性能）
+     * 获取边权重（CSR行内有序，二分查找）
      */
     public double getEdgeWeight(Node source, Node destination) {
-        // 从缓存获取权重
-        Map<Node, Double> weights = edgeWeightCache.get(source);
-        if (weights != null) {
-            Double weight = weights.get(destination);
-            if (weight != null) {
-                return weight;
-            }
+        int u = csr.indexOf(source);
+        int v = csr.indexOf(destination);
+        if (u < 0 || v < 0) {
+            return 0.0;
         }
-        return 0.0; // 没有边存在
+        int[] offsets = csr.getOffsets();
+        int pos = Arrays.binarySearch(csr.getTargets(), offsets[u], offsets[u + 1], v);
+        return pos >= 0 ? csr.getWeights()[pos] : 0.0; // 没有边存在
     }
 
     /**
@@ -262,36 +433,39 @@ public class CommunityDetection {
      */
     private void buildCommunitiesMap() {
         communitiesMap = new HashMap<>();
-        for (Map.Entry<Node, Integer> entry : communities.entrySet()) {
-            int commId = entry.getValue();
-            Node node = entry.getKey();
-            communitiesMap.computeIfAbsent(commId, k -> new ArrayList<>()).add(node);
+        for (int i = 0; i < communities.length; i++) {
+            communitiesMap.computeIfAbsent(communities[i], k -> new ArrayList<>()).add(csr.getNode(i));
         }
     }
 
     /**
-     * 高效模块度计算（使用预存社区信息）
+     * 按当前社区划分计算模块度
+     *
+     * @param totalWeight 图的总边权 m（无向图每条边计一次）
+     * @param nodeWeights 节点权重（度）
      */
     public double calculateModularity(double totalWeight, Map<Node, Double> nodeWeights) {
         if (totalWeight <= 0)
             return 0.0;
 
-        double q = 0.0;
-        double totalWeightSq = 2 * totalWeight * totalWeight;
-
-        // 遍历所有边（避免节点对重复计算）
-        for (Node node : graph.getNodes()) {
-            for (Node neighbor : graph.getNeighbors(node)) {
-                // 仅处理同一社区的边（避免重复计数）
-                if (node.getId().compareTo(neighbor.getId()) < 0 &&
-                        communities.get(node).equals(communities.get(neighbor))) {
-
-                    double weight = getEdgeWeight(node, neighbor);
-                    q += 2 * (weight - (nodeWeights.get(node) * nodeWeights.get(neighbor)) / totalWeightSq);
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        double[] weights = csr.getWeights();
+        double internal = 0.0;
+        Map<Integer, Double> communityTotals = new HashMap<>();
+        for (int node = 0; node < communities.length; node++) {
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                if (communities[node] == communities[targets[e]]) {
+                    internal += weights[e];
                 }
             }
+            communityTotals.merge(communities[node], nodeWeights.getOrDefault(csr.getNode(node), 0.0), Double::sum);
+        }
+        double q = internal / (2 * totalWeight);
+        for (double tot : communityTotals.values()) {
+            q -= (tot / (2 * totalWeight)) * (tot / (2 * totalWeight));
         }
-        return q / (2 * totalWeight);
+        return q;
     }
 
     // ========== 结果获取方法 ==========
@@ -302,16 +476,91 @@ public class CommunityDetection {
         return Collections.unmodifiableMap(communitiesMap);
     }
 
+    /**
+     * 按CSR节点编号索引的社区编号数组（只读），序列化时再映射回名称
+     */
+    public int[] getMembership() {
+        return communities;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+
     public double getModularity() {
         return modularity;
     }
 
+    /**
+     * 每层的统计信息（层号、节点数、社区数、移动次数、迭代次数、模块度）
+     */
+    public List<LevelStats> getLevelStats() {
+        return Collections.unmodifiableList(levelStats);
+    }
+
     public Set<Set<Node>> getCommunitiesSet() {
         Map<Integer, Set<Node>> commMap = new HashMap<>();
-        for (Map.Entry<Node, Integer> entry : communities.entrySet()) {
-            commMap.computeIfAbsent(entry.getValue(), k -> new HashSet<>())
-                    .add(entry.getKey());
+        for (int i = 0; i < communities.length; i++) {
+            commMap.computeIfAbsent(communities[i], k -> new HashSet<>())
+                    .add(csr.getNode(i));
         }
         return new HashSet<>(commMap.values());
     }
-}
\ No newline at end of file
+
+    public static class LevelStats {
+        private final int level;
+        private final int nodeCount;
+        private final int communityCount;
+        private final int moves;
+        private final int iterations;
+        private final double modularity;
+        private final int[] membership;
+
+        public LevelStats(int level, int nodeCount, int communityCount, int moves, int iterations,
+                double modularity) {
+            this(level, nodeCount, communityCount, moves, iterations, modularity, null);
+        }
+
+        public LevelStats(int level, int nodeCount, int communityCount, int moves, int iterations,
+                double modularity, int[] membership) {
+            this.level = level;
+            this.nodeCount = nodeCount;
+            this.communityCount = communityCount;
+            this.moves = moves;
+            this.iterations = iterations;
+            this.modularity = modularity;
+            this.membership = membership;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public int getNodeCount() {
+            return nodeCount;
+        }
+
+        public int getCommunityCount() {
+            return communityCount;
+        }
+
+        public int getMoves() {
+            return moves;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public double getModularity() {
+            return modularity;
+        }
+
+        /**
+         * 本层局部移动结束时原始节点（按CSR编号）所属的社区编号，未记录时为 null
+         */
+        public int[] getMembership() {
+            return membership;
+        }
+    }
+}
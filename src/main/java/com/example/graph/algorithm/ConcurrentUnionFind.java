@@ -0,0 +1,98 @@
+package com.example.graph.algorithm;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁并查集：每个节点一个 long 字（高32位秩，低32位父节点），按秩合并 + 路径减半压缩，均通过 CAS 完成。
+ * 合并时子根的 CAS 同时校验其秩未变，而根的秩只增不减，按 (秩, 编号) 的全序链接不会成环。
+ */
+final class ConcurrentUnionFind {
+    private final AtomicLongArray words;
+
+    ConcurrentUnionFind(int size) {
+        this.words = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            words.set(i, pack(0, i));
+        }
+    }
+
+    int size() {
+        return words.length();
+    }
+
+    /**
+     * 查找根节点，顺带把路径上每个节点指向祖父节点
+     */
+    int find(int x) {
+        while (true) {
+            long word = words.get(x);
+            int parent = parent(word);
+            if (parent == x) {
+                return x;
+            }
+            int grandparent = parent(words.get(parent));
+            if (grandparent != parent) {
+                words.compareAndSet(x, word, pack(rank(word), grandparent));
+            }
+            x = grandparent;
+        }
+    }
+
+    /**
+     * 合并两个集合，原本不在同一集合时返回 true
+     */
+    boolean union(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b) {
+                return false;
+            }
+            long wordA = words.get(a);
+            long wordB = words.get(b);
+            if (parent(wordA) != a || parent(wordB) != b) {
+                continue; // 读取期间已不再是根，重新查找
+            }
+            int rankA = rank(wordA);
+            int rankB = rank(wordB);
+            // 秩较小（秩相同则编号较小）的根挂到另一个根下
+            boolean aIsChild = rankA < rankB || (rankA == rankB && a < b);
+            int child = aIsChild ? a : b;
+            int root = aIsChild ? b : a;
+            long childWord = aIsChild ? wordA : wordB;
+            if (words.compareAndSet(child, childWord, pack(rank(childWord), root))) {
+                if (rankA == rankB) {
+                    long rootWord = aIsChild ? wordB : wordA;
+                    words.compareAndSet(root, rootWord, pack(rankA + 1, root));
+                }
+                return true;
+            }
+        }
+    }
+
+    boolean connected(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b) {
+                return true;
+            }
+            // a 仍是根说明两者确实不在同一集合（并发合并时重试）
+            if (parent(words.get(a)) == a) {
+                return false;
+            }
+        }
+    }
+
+    private static long pack(int rank, int parent) {
+        return ((long) rank << 32) | (parent & 0xffffffffL);
+    }
+
+    private static int rank(long word) {
+        return (int) (word >>> 32);
+    }
+
+    private static int parent(long word) {
+        return (int) word;
+    }
+}
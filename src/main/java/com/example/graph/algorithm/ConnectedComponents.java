@@ -0,0 +1,150 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 连通分量（有向图按弱连通计算）：节点区间拆分到 ForkJoin 池中并行合并边，
+ * 之后把并查集的根重新编号为从0开始的连续分量编号，并统计各分量大小。
+ * 计算完成后判断两个节点是否连通只需比较分量编号。
+ */
+public class ConnectedComponents {
+    // 并行模式下每个子任务至少处理的节点数
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    private final CsrGraph csr;
+    private int[] componentIds;
+    private int[] componentSizes;
+
+    public ConnectedComponents(Graph graph) {
+        this(CsrGraph.from(graph));
+    }
+
+    public ConnectedComponents(CsrGraph csr) {
+        this.csr = csr;
+    }
+
+    /**
+     * @param parallelism 并行度，小于等于0时使用公共池
+     */
+    public void compute(int parallelism) {
+        int n = csr.getNodeCount();
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(n);
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        try {
+            int chunkSize = Math.max(MIN_CHUNK_SIZE, n / (pool.getParallelism() * 8));
+            pool.invoke(new UnionTask(unionFind, 0, n, chunkSize));
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+
+        // 按节点编号顺序为每个根分配连续的分量编号
+        componentIds = new int[n];
+        int[] rootToComponent = new int[n];
+        Arrays.fill(rootToComponent, -1);
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int root = unionFind.find(v);
+            if (rootToComponent[root] < 0) {
+                rootToComponent[root] = count++;
+            }
+            componentIds[v] = rootToComponent[root];
+        }
+        componentSizes = new int[count];
+        for (int v = 0; v < n; v++) {
+            componentSizes[componentIds[v]]++;
+        }
+    }
+
+    private final class UnionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ConcurrentUnionFind unionFind;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        UnionTask(ConcurrentUnionFind unionFind, int from, int to, int chunkSize) {
+            this.unionFind = unionFind;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                int[] offsets = csr.getOffsets();
+                int[] targets = csr.getTargets();
+                boolean directed = csr.isDirected();
+                for (int u = from; u < to; u++) {
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        int v = targets[e];
+                        // 无向图每条边存两次，只处理一个方向
+                        if (directed || u < v) {
+                            unionFind.union(u, v);
+                        }
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new UnionTask(unionFind, from, mid, chunkSize),
+                    new UnionTask(unionFind, mid, to, chunkSize));
+        }
+    }
+
+    /**
+     * 按CSR节点编号索引的分量编号
+     */
+    public int[] getComponentIds() {
+        return componentIds;
+    }
+
+    /**
+     * 按分量编号索引的分量大小
+     */
+    public int[] getComponentSizes() {
+        return componentSizes;
+    }
+
+    public int getComponentCount() {
+        return componentSizes == null ? 0 : componentSizes.length;
+    }
+
+    /**
+     * 两个节点是否连通，任一节点不在图中时返回 false
+     */
+    public boolean connected(Node a, Node b) {
+        int u = csr.indexOf(a);
+        int v = csr.indexOf(b);
+        return u >= 0 && v >= 0 && componentIds[u] == componentIds[v];
+    }
+
+    /**
+     * 节点所在分量的大小，不在图中时为0
+     */
+    public int getComponentSize(Node node) {
+        int id = csr.indexOf(node);
+        return id < 0 ? 0 : componentSizes[componentIds[id]];
+    }
+
+    public Map<Integer, List<Node>> getComponents() {
+        Map<Integer, List<Node>> components = new HashMap<>();
+        for (int v = 0; v < componentIds.length; v++) {
+            components.computeIfAbsent(componentIds[v], k -> new ArrayList<>()).add(csr.getNode(v));
+        }
+        return components;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.graph.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * 以 int 节点编号为元素的索引 d 叉最小堆，支持 decrease-key。
+ * 每个节点在堆中至多出现一次，不产生过期条目，也不为每次入堆分配对象。
+ */
+final class IndexedHeap {
+    private static final int ARITY = 4;
+
+    private final int[] heap; // 堆位置 -> 节点
+    private final int[] position; // 节点 -> 堆位置，不在堆中为 -1
+    private final double[] keys; // 节点 -> 键值
+    private int size;
+
+    IndexedHeap(int capacity) {
+        this.heap = new int[Math.max(capacity, 1)];
+        this.position = new int[Math.max(capacity, 1)];
+        this.keys = new double[Math.max(capacity, 1)];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int node) {
+        return position[node] >= 0;
+    }
+
+    double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * 节点不在堆中则插入，否则在新键值更小时下调
+     */
+    void insertOrDecrease(int node, double key) {
+        int pos = position[node];
+        if (pos < 0) {
+            pos = size++;
+            heap[pos] = node;
+            position[node] = pos;
+        } else if (key >= keys[node]) {
+            return;
+        }
+        keys[node] = key;
+        siftUp(pos);
+    }
+
+    int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * 清空堆，只重置仍在堆中的节点，便于跨查询复用
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int node = heap[pos];
+        double key = keys[node];
+        while (pos > 0) {
+            int parent = (pos - 1) / ARITY;
+            int parentNode = heap[parent];
+            if (keys[parentNode] <= key) {
+                break;
+            }
+            heap[pos] = parentNode;
+            position[parentNode] = pos;
+            pos = parent;
+        }
+        heap[pos] = node;
+        position[node] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int node = heap[pos];
+        double key = keys[node];
+        while (true) {
+            int first = pos * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int best = first;
+            int last = Math.min(first + ARITY, size);
+            for (int child = first + 1; child < last; child++) {
+                if (keys[heap[child]] < keys[heap[best]]) {
+                    best = child;
+                }
+            }
+            if (keys[heap[best]] >= key) {
+                break;
+            }
+            heap[pos] = heap[best];
+            position[heap[pos]] = pos;
+            pos = best;
+        }
+        heap[pos] = node;
+        position[node] = pos;
+    }
+}
@@ -1,68 +1,138 @@
 package com.example.graph.algorithm;
 
+import com.example.graph.core.CsrGraph;
 import com.example.graph.core.Graph;
 import com.example.graph.core.Node;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class JaccardSimilarity {
-    private final Graph graph;
-    // 缓存每个节点的邻居集合，提升效率
-    private final Map<String, Set<String>> neighborCache = new HashMap<>();
+    private final CsrGraph csr;
+    // 缓存每个节点去重后的有序邻居编号数组，提升效率
+    private final int[][] neighborCache;
+    // 反向邻居（指向该节点的节点），用于两跳扩展生成候选对；无向图与 neighborCache 相同
+    private final int[][] reverseCache;
 
     public JaccardSimilarity(Graph graph) {
-        this.graph = graph;
+        this(CsrGraph.from(graph));
+    }
+
+    public JaccardSimilarity(CsrGraph csr) {
+        this.csr = csr;
+        this.neighborCache = new int[csr.getNodeCount()][];
         cacheNeighbors();
+        this.reverseCache = csr.isDirected() ? transpose(neighborCache) : neighborCache;
+    }
+
+    // 转置邻居数组，按源编号升序写入，行内天然有序
+    private static int[][] transpose(int[][] lists) {
+        int[] sizes = new int[lists.length];
+        for (int[] list : lists) {
+            for (int v : list) {
+                sizes[v]++;
+            }
+        }
+        int[][] result = new int[lists.length][];
+        for (int i = 0; i < lists.length; i++) {
+            result[i] = new int[sizes[i]];
+            sizes[i] = 0;
+        }
+        for (int u = 0; u < lists.length; u++) {
+            for (int v : lists[u]) {
+                result[v][sizes[v]++] = u;
+            }
+        }
+        return result;
     }
 
-    // 预先缓存所有节点的邻居ID集合
+    // 预先缓存所有节点的邻居编号（CSR行内已有序，只需去重）
     private void cacheNeighbors() {
-        for (Node node : graph.getNodes()) {
-            Set<String> neighbors = new HashSet<>();
-            for (Node n : graph.getNeighbors(node)) {
-                neighbors.add(n.getId());
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        for (int i = 0; i < neighborCache.length; i++) {
+            int from = offsets[i];
+            int to = offsets[i + 1];
+            int[] neighbors = new int[to - from];
+            int size = 0;
+            for (int e = from; e < to; e++) {
+                if (size == 0 || neighbors[size - 1] != targets[e]) {
+                    neighbors[size++] = targets[e];
+                }
             }
-            neighborCache.put(node.getId(), neighbors);
+            neighborCache[i] = size == neighbors.length ? neighbors : Arrays.copyOf(neighbors, size);
         }
     }
 
+    /**
+     * 节点去重后的有序邻居编号（只读）
+     */
+    public int[] getNeighborIds(int id) {
+        return neighborCache[id];
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+
     /**
      * 计算两个节点的Jaccard相似度（通过节点ID）
      */
     public double compute(String idA, String idB) {
-        Set<String> neighborsA = neighborCache.getOrDefault(idA, Collections.emptySet());
-        Set<String> neighborsB = neighborCache.getOrDefault(idB, Collections.emptySet());
-        if (neighborsA.isEmpty() && neighborsB.isEmpty())
-            return 1.0;
-        Set<String> intersection = new HashSet<>(neighborsA);
-        intersection.retainAll(neighborsB);
-        Set<String> union = new HashSet<>(neighborsA);
-        union.addAll(neighborsB);
-        return union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
+        return compute(new Node(idA), new Node(idB));
     }
 
     /**
      * 计算两个节点的Jaccard相似度（通过Node对象）
      */
     public double compute(Node nodeA, Node nodeB) {
-        return compute(nodeA.getId(), nodeB.getId());
+        int a = csr.indexOf(nodeA);
+        int b = csr.indexOf(nodeB);
+        int[] neighborsA = a < 0 ? new int[0] : neighborCache[a];
+        int[] neighborsB = b < 0 ? new int[0] : neighborCache[b];
+        return jaccard(neighborsA, neighborsB);
+    }
+
+    // 有序数组归并求交集大小，并集 = |A| + |B| - |A∩B|
+    private static double jaccard(int[] neighborsA, int[] neighborsB) {
+        if (neighborsA.length == 0 && neighborsB.length == 0)
+            return 1.0;
+        int intersection = intersectionSize(neighborsA, neighborsB);
+        int union = neighborsA.length + neighborsB.length - intersection;
+        return union == 0 ? 0.0 : (double) intersection / union;
+    }
+
+    static int intersectionSize(int[] a, int[] b) {
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
     }
 
     /**
      * 计算全图所有节点对的Jaccard相似度矩阵
      * 返回Map<节点对字符串, 相似度>
-     * 
+     *
      * @param onlyNonZero 是否只输出非零相似度
      */
     public Map<String, Double> computeAll(boolean onlyNonZero) {
-        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        int n = csr.getNodeCount();
         Map<String, Double> result = new HashMap<>();
-        for (int i = 0; i < nodes.size(); i++) {
-            for (int j = i + 1; j < nodes.size(); j++) {
-                String idA = nodes.get(i).getId();
-                String idB = nodes.get(j).getId();
-                double sim = compute(idA, idB);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double sim = jaccard(neighborCache[i], neighborCache[j]);
                 if (!onlyNonZero || sim > 0.0) {
-                    String key = idA + "," + idB;
+                    String key = csr.getNode(i).getId() + "," + csr.getNode(j).getId();
                     result.put(key, sim);
                 }
             }
@@ -76,4 +146,220 @@ public class JaccardSimilarity {
     public Map<String, Double> computeAll() {
         return computeAll(false);
     }
+
+    /**
+     * 并行流式遍历所有节点对（每对只访问一次），结果逐对交给访问器而不在内存中汇总。
+     * 行空间按块动态分配给各工作线程，访问器会被多个线程并发调用，须自行保证线程安全；
+     * 访问器阻塞时对应工作线程随之暂停，可借此对下游做背压。
+     *
+     * @param onlyNonZero 为 true 时只通过两跳扩展访问有共同邻居的节点对
+     * @param parallelism 并行度，小于等于0时使用公共池
+     */
+    public void forEachPair(boolean onlyNonZero, int parallelism, PairVisitor visitor) {
+        int n = csr.getNodeCount();
+        if (n < 2) {
+            return;
+        }
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        AtomicInteger nextRow = new AtomicInteger();
+        try {
+            List<ForkJoinTask<?>> workers = new ArrayList<>();
+            for (int w = 0; w < pool.getParallelism(); w++) {
+                workers.add(pool.submit(() -> {
+                    try {
+                        scanRows(nextRow, onlyNonZero, visitor);
+                    } catch (RuntimeException e) {
+                        // 任一线程失败（如下游取消）时让其余线程不再领取新行
+                        nextRow.set(n);
+                        throw e;
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> worker : workers) {
+                worker.join();
+            }
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    // 工作线程循环领取行块，直到所有行处理完
+    private void scanRows(AtomicInteger nextRow, boolean onlyNonZero, PairVisitor visitor) {
+        int n = csr.getNodeCount();
+        CandidateCounter counter = onlyNonZero ? new CandidateCounter(n) : null;
+        int from;
+        while ((from = nextRow.getAndAdd(ROW_BLOCK)) < n) {
+            int to = Math.min(n, from + ROW_BLOCK);
+            for (int u = from; u < to; u++) {
+                if (onlyNonZero) {
+                    int count = counter.expand(u, true);
+                    for (int t = 0; t < count; t++) {
+                        int v = counter.touched[t];
+                        int intersection = counter.take(v);
+                        int union = neighborCache[u].length + neighborCache[v].length - intersection;
+                        visitor.visit(u, v, (double) intersection / union);
+                    }
+                } else {
+                    for (int v = u + 1; v < n; v++) {
+                        visitor.visit(u, v, jaccard(neighborCache[u], neighborCache[v]));
+                    }
+                }
+            }
+        }
+    }
+
+    // 每次领取的行数；行的工作量不均（越靠前的行配对越多），小块动态领取以均衡负载
+    private static final int ROW_BLOCK = 16;
+
+    /**
+     * 节点对访问器，参数为两个节点的CSR编号（a < b）与相似度
+     */
+    @FunctionalInterface
+    public interface PairVisitor {
+        void visit(int a, int b, double score);
+    }
+
+    /**
+     * 每个节点最相似的前 k 个节点（只评估至少有一个共同邻居的节点对）
+     *
+     * @param k             每个节点保留的结果数
+     * @param minSimilarity 最小相似度阈值，低于该值的节点对不输出
+     * @return 节点 -> 按相似度降序排列的结果，没有候选的节点不出现
+     */
+    public Map<Node, List<SimilarPair>> topKPerNode(int k, double minSimilarity) {
+        int n = csr.getNodeCount();
+        Map<Node, List<SimilarPair>> result = new LinkedHashMap<>();
+        if (k <= 0) {
+            return result;
+        }
+        CandidateCounter counter = new CandidateCounter(n);
+        for (int u = 0; u < n; u++) {
+            PriorityQueue<SimilarPair> heap = new PriorityQueue<>(SCORE_ORDER);
+            int count = counter.expand(u, false);
+            for (int t = 0; t < count; t++) {
+                int v = counter.touched[t];
+                offer(heap, k, u, v, counter.take(v), minSimilarity);
+            }
+            if (!heap.isEmpty()) {
+                result.put(csr.getNode(u), drainDescending(heap));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 全图最相似的前 k 个节点对（每对只出现一次，只评估至少有一个共同邻居的节点对）
+     *
+     * @param k             返回的节点对数
+     * @param minSimilarity 最小相似度阈值
+     * @return 按相似度降序排列的节点对
+     */
+    public List<SimilarPair> topK(int k, double minSimilarity) {
+        int n = csr.getNodeCount();
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<SimilarPair> heap = new PriorityQueue<>(SCORE_ORDER);
+        CandidateCounter counter = new CandidateCounter(n);
+        for (int u = 0; u < n; u++) {
+            int count = counter.expand(u, true);
+            for (int t = 0; t < count; t++) {
+                int v = counter.touched[t];
+                offer(heap, k, u, v, counter.take(v), minSimilarity);
+            }
+        }
+        return drainDescending(heap);
+    }
+
+    // 交集大小已由两跳计数得到，直接换算相似度；堆满时只替换更小的堆顶
+    private void offer(PriorityQueue<SimilarPair> heap, int k, int u, int v, int intersection,
+            double minSimilarity) {
+        int union = neighborCache[u].length + neighborCache[v].length - intersection;
+        double score = union == 0 ? 0.0 : (double) intersection / union;
+        if (score <= 0.0 || score < minSimilarity) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(new SimilarPair(csr.getNode(u), csr.getNode(v), score));
+        } else if (score > heap.peek().getScore()) {
+            heap.poll();
+            heap.add(new SimilarPair(csr.getNode(u), csr.getNode(v), score));
+        }
+    }
+
+    private static List<SimilarPair> drainDescending(PriorityQueue<SimilarPair> heap) {
+        List<SimilarPair> list = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            list.add(heap.poll());
+        }
+        Collections.reverse(list);
+        return list;
+    }
+
+    private static final Comparator<SimilarPair> SCORE_ORDER = Comparator.comparingDouble(SimilarPair::getScore);
+
+    /**
+     * 两跳扩展计数器：u -> 邻居 w -> 指向 w 的节点 v，计数即 |N(u) ∩ N(v)|。
+     * 计数数组按触达列表局部清零，整个遍历过程复用。
+     */
+    private final class CandidateCounter {
+        private final int[] counts;
+        private final int[] touched;
+
+        CandidateCounter(int n) {
+            this.counts = new int[n];
+            this.touched = new int[n];
+        }
+
+        // 返回触达的候选数；upperOnly 为 true 时只保留编号大于 u 的候选
+        int expand(int u, boolean upperOnly) {
+            int size = 0;
+            for (int w : neighborCache[u]) {
+                for (int v : reverseCache[w]) {
+                    if (v == u || (upperOnly && v < u)) {
+                        continue;
+                    }
+                    if (counts[v]++ == 0) {
+                        touched[size++] = v;
+                    }
+                }
+            }
+            return size;
+        }
+
+        int take(int v) {
+            int count = counts[v];
+            counts[v] = 0;
+            return count;
+        }
+    }
+
+    /**
+     * 相似节点对
+     */
+    public static class SimilarPair {
+        private final Node source;
+        private final Node target;
+        private final double score;
+
+        public SimilarPair(Node source, Node target, double score) {
+            this.source = source;
+            this.target = target;
+            this.score = score;
+        }
+
+        public Node getSource() {
+            return source;
+        }
+
+        public Node getTarget() {
+            return target;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+
+import java.util.*;
+
+/**
+ * k-core 分解（Batagelj-Zaversnik 桶排序剥离，O(n + m)）
+ * 按无向简单图的度数把节点放入桶中，每次取出度数最小的节点确定其核数，并把更高桶中的邻居下移一个桶。
+ * 节点的核数是它所属的最大 k-core 的 k，k-core 即所有节点度数不小于 k 的极大子图。
+ */
+public class KCoreDecomposition {
+    private final CsrGraph csr;
+    private int[] coreNumbers;
+    private int maxCore;
+
+    public KCoreDecomposition(Graph graph) {
+        this(CsrGraph.from(graph));
+    }
+
+    public KCoreDecomposition(CsrGraph csr) {
+        this.csr = csr;
+    }
+
+    public void compute() {
+        int n = csr.getNodeCount();
+        int[][] neighbors = SimpleAdjacency.of(csr);
+        int[] degree = new int[n];
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            degree[v] = neighbors[v].length;
+            maxDegree = Math.max(maxDegree, degree[v]);
+        }
+
+        // bin[d] 为度数 d 的桶在 vert 中的起始位置，vert 按度数排序，pos 为节点在 vert 中的位置
+        int[] bin = new int[maxDegree + 1];
+        for (int v = 0; v < n; v++) {
+            bin[degree[v]]++;
+        }
+        int start = 0;
+        for (int d = 0; d <= maxDegree; d++) {
+            int count = bin[d];
+            bin[d] = start;
+            start += count;
+        }
+        int[] vert = new int[n];
+        int[] pos = new int[n];
+        for (int v = 0; v < n; v++) {
+            pos[v] = bin[degree[v]]++;
+            vert[pos[v]] = v;
+        }
+        for (int d = maxDegree; d > 0; d--) {
+            bin[d] = bin[d - 1];
+        }
+        bin[0] = 0;
+
+        maxCore = 0;
+        for (int i = 0; i < n; i++) {
+            int v = vert[i];
+            maxCore = Math.max(maxCore, degree[v]);
+            for (int u : neighbors[v]) {
+                if (degree[u] > degree[v]) {
+                    // 把 u 与其桶首节点交换，再把桶边界右移，u 即落入下一个更低的桶
+                    int du = degree[u];
+                    int pu = pos[u];
+                    int pw = bin[du];
+                    int w = vert[pw];
+                    if (u != w) {
+                        pos[u] = pw;
+                        vert[pu] = w;
+                        pos[w] = pu;
+                        vert[pw] = u;
+                    }
+                    bin[du]++;
+                    degree[u]--;
+                }
+            }
+        }
+        coreNumbers = degree;
+    }
+
+    /**
+     * 按CSR节点编号索引的核数
+     */
+    public int[] getCoreNumbers() {
+        return coreNumbers;
+    }
+
+    public int getMaxCore() {
+        return maxCore;
+    }
+
+    /**
+     * 节点的核数，不在图中时为0
+     */
+    public int getCoreNumber(Node node) {
+        int id = csr.indexOf(node);
+        return id < 0 ? 0 : coreNumbers[id];
+    }
+
+    /**
+     * 核数不小于 k 的节点，即 k-core 的节点集合
+     */
+    public Set<Node> getCoreNodes(int k) {
+        Set<Node> nodes = new HashSet<>();
+        for (int v = 0; v < coreNumbers.length; v++) {
+            if (coreNumbers[v] >= k) {
+                nodes.add(csr.getNode(v));
+            }
+        }
+        return nodes;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+
+    /**
+     * 返回图的 k-core 子图；也可在代价较高的算法之前剪掉度数低的外围节点
+     */
+    public static Graph kCoreSubgraph(Graph graph, int k) {
+        KCoreDecomposition decomposition = new KCoreDecomposition(graph);
+        decomposition.compute();
+        return graph.createSubgraph(decomposition.getCoreNodes(k));
+    }
+}
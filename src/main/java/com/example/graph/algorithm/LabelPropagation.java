@@ -0,0 +1,213 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 并行异步标签传播社区检测
+ * 每个节点取邻居中权重和最大的标签，更新直接写回共享标签数组（异步），节点区间拆分到 ForkJoin 池中。
+ * 达到迭代上限或一轮中变化标签的比例低于阈值时停止。适用于 Louvain/Leiden 也嫌慢的超大子图，
+ * 结果形状与 CommunityDetection 一致（社区映射、模块度、统计信息）。
+ */
+public class LabelPropagation {
+    private final CsrGraph csr;
+    private final int maxIterations;
+    private final double minChangedFraction;
+    private final int[] labels; // 节点编号到社区的映射
+    private Map<Integer, List<Node>> communitiesMap; // 社区到节点列表的映射
+    private double modularity;
+    private int iterations;
+    private final List<CommunityDetection.LevelStats> levelStats = new ArrayList<>();
+    private int maxDegree;
+
+    // 并行模式下每个子任务至少处理的节点数
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    public LabelPropagation(Graph graph) {
+        this(CsrGraph.from(graph), 20, 0.001);
+    }
+
+    public LabelPropagation(CsrGraph csr) {
+        this(csr, 20, 0.001);
+    }
+
+    /**
+     * @param maxIterations      最大迭代轮数
+     * @param minChangedFraction 一轮中变化标签的节点比例低于该值时提前停止
+     */
+    public LabelPropagation(CsrGraph csr, int maxIterations, double minChangedFraction) {
+        this.csr = csr;
+        this.maxIterations = maxIterations;
+        this.minChangedFraction = minChangedFraction;
+        this.labels = new int[csr.getNodeCount()];
+        for (int i = 0; i < labels.length; i++) {
+            maxDegree = Math.max(maxDegree, csr.getDegree(i));
+        }
+    }
+
+    /**
+     * @param parallelism 并行度，小于等于0时使用公共池
+     */
+    public void detectCommunities(int parallelism) {
+        int n = labels.length;
+        for (int i = 0; i < n; i++) {
+            labels[i] = i;
+        }
+        levelStats.clear();
+        communitiesMap = null;
+        iterations = 0;
+        if (n == 0) {
+            modularity = 0.0;
+            return;
+        }
+
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, n / (pool.getParallelism() * 8));
+        int[] order = CommunityDetection.identity(n);
+        Random random = new Random();
+        int totalChanges = 0;
+        try {
+            while (iterations < maxIterations) {
+                iterations++;
+                // 每轮打乱访问顺序，减少标签沿编号方向单向扩散
+                CommunityDetection.shuffle(order, random);
+                int changed = pool.invoke(new PropagateTask(order, 0, n, chunkSize));
+                totalChanges += changed;
+                if (changed < minChangedFraction * n) {
+                    break;
+                }
+            }
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+
+        int communityCount = CommunityDetection.renumber(labels);
+        double totalArcWeight = csr.getTotalWeight();
+        modularity = totalArcWeight > 0 ? CommunityDetection.modularity(csr, labels, totalArcWeight) : 0.0;
+        levelStats.add(new CommunityDetection.LevelStats(0, n, communityCount, totalChanges, iterations, modularity));
+    }
+
+    public void detectCommunities() {
+        detectCommunities(0);
+    }
+
+    // 处理 order[from, to) 中的节点，返回标签发生变化的节点数
+    private int propagate(int[] order, int from, int to) {
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        double[] weights = csr.getWeights();
+        // 邻居标签与边下标打包后排序，相同标签连续出现，按段累加权重
+        long[] keys = new long[maxDegree];
+        int changed = 0;
+        for (int k = from; k < to; k++) {
+            int v = order[k];
+            int degree = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (targets[e] != v) {
+                    keys[degree++] = ((long) labels[targets[e]] << 32) | e;
+                }
+            }
+            if (degree == 0) {
+                continue;
+            }
+            Arrays.sort(keys, 0, degree);
+
+            int current = labels[v];
+            int best = current;
+            double bestWeight = -1.0;
+            int i = 0;
+            while (i < degree) {
+                int label = (int) (keys[i] >>> 32);
+                double sum = 0.0;
+                while (i < degree && (int) (keys[i] >>> 32) == label) {
+                    sum += weights[(int) keys[i]];
+                    i++;
+                }
+                // 权重相同时优先保留当前标签，其次取编号较小的标签
+                if (sum > bestWeight || (sum == bestWeight && label == current)) {
+                    bestWeight = sum;
+                    best = label;
+                }
+            }
+            if (best != current) {
+                labels[v] = best;
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private final class PropagateTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] order;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        PropagateTask(int[] order, int from, int to, int chunkSize) {
+            this.order = order;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= chunkSize) {
+                return propagate(order, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            PropagateTask left = new PropagateTask(order, from, mid, chunkSize);
+            left.fork();
+            int right = new PropagateTask(order, mid, to, chunkSize).compute();
+            return left.join() + right;
+        }
+    }
+
+    private void buildCommunitiesMap() {
+        communitiesMap = new HashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            communitiesMap.computeIfAbsent(labels[i], k -> new ArrayList<>()).add(csr.getNode(i));
+        }
+    }
+
+    // ========== 结果获取方法 ==========
+    public Map<Integer, List<Node>> getCommunities() {
+        if (communitiesMap == null)
+            buildCommunitiesMap();
+        return Collections.unmodifiableMap(communitiesMap);
+    }
+
+    /**
+     * 按CSR节点编号索引的社区编号数组（只读），序列化时再映射回名称
+     */
+    public int[] getMembership() {
+        return labels;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+
+    public double getModularity() {
+        return modularity;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * 单层统计信息；moves 为所有轮次中标签变化的总次数
+     */
+    public List<CommunityDetection.LevelStats> getLevelStats() {
+        return Collections.unmodifiableList(levelStats);
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Node;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * ALT（A* + 地标 + 三角不等式）最短路径预计算索引
+ * 为 k 个地标保存到所有节点、以及所有节点到地标的距离表（float[]），
+ * 查询时用 max(d(l,t) - d(l,v), d(v,l) - d(t,l)) 作为 v 到 t 距离的下界引导 A* 搜索。
+ * 索引绑定构建时的图，可保存到磁盘后按节点名称重新加载。
+ */
+public class LandmarkIndex {
+    /**
+     * 地标选择策略：度数最高的节点，或最远点采样（每次选距离已选地标最远的节点）
+     */
+    public enum Strategy {
+        HIGH_DEGREE, FARTHEST
+    }
+
+    private static final int MAGIC = 0x414c5431; // "ALT1"
+
+    private final CsrGraph csr;
+    private final int[] landmarks;
+    private final float[][] fromLandmark; // fromLandmark[i][v] = d(l_i, v)
+    private final float[][] toLandmark; // toLandmark[i][v] = d(v, l_i)，无向图与 fromLandmark 共用
+
+    private LandmarkIndex(CsrGraph csr, int[] landmarks, float[][] fromLandmark, float[][] toLandmark) {
+        this.csr = csr;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * 构建索引，各地标的距离表在 ForkJoin 池中并行计算
+     *
+     * @param count       地标数
+     * @param strategy    地标选择策略
+     * @param parallelism 并行度，小于等于0时使用公共池
+     */
+    public static LandmarkIndex build(CsrGraph csr, int count, Strategy strategy, int parallelism) {
+        int n = csr.getNodeCount();
+        int k = Math.min(count, n);
+        if (k <= 0) {
+            return new LandmarkIndex(csr, new int[0], new float[0][], new float[0][]);
+        }
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        try {
+            int[] landmarks;
+            float[][] from = new float[k][];
+            if (strategy == Strategy.FARTHEST) {
+                // 最远点采样本身是顺序的：每个新地标依赖前面地标的距离表
+                landmarks = new int[k];
+                double[] nearest = new double[n];
+                Arrays.fill(nearest, Double.MAX_VALUE);
+                int next = highestDegree(csr, 1)[0];
+                for (int i = 0; i < k; i++) {
+                    landmarks[i] = next;
+                    from[i] = distances(csr, next, false);
+                    next = farthest(from[i], nearest, landmarks, i + 1);
+                    if (next < 0) {
+                        landmarks = Arrays.copyOf(landmarks, i + 1);
+                        from = Arrays.copyOf(from, i + 1);
+                        break;
+                    }
+                }
+            } else {
+                landmarks = highestDegree(csr, k);
+                from = computeAll(pool, csr, landmarks, false);
+            }
+            float[][] to = csr.isDirected() ? computeAll(pool, csr, landmarks, true) : from;
+            return new LandmarkIndex(csr, landmarks, from, to);
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static float[][] computeAll(ForkJoinPool pool, CsrGraph csr, int[] landmarks, boolean reverse) {
+        float[][] tables = new float[landmarks.length][];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < landmarks.length; i++) {
+            int index = i;
+            tasks.add(pool.submit(() -> {
+                tables[index] = distances(csr, landmarks[index], reverse);
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        return tables;
+    }
+
+    // 单源Dijkstra，reverse 为 true 时沿入边计算（即各节点到 source 的距离），不可达为正无穷
+    private static float[] distances(CsrGraph csr, int source, boolean reverse) {
+        int n = csr.getNodeCount();
+        int[] offsets = reverse ? csr.getInOffsets() : csr.getOffsets();
+        int[] targets = reverse ? csr.getInSources() : csr.getTargets();
+        double[] weights = reverse ? csr.getInWeights() : csr.getWeights();
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.MAX_VALUE);
+        IndexedHeap heap = new IndexedHeap(n);
+        dist[source] = 0.0;
+        heap.insertOrDecrease(source, 0.0);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                double newDist = dist[current] + weights[e];
+                if (newDist < dist[targets[e]]) {
+                    dist[targets[e]] = newDist;
+                    heap.insertOrDecrease(targets[e], newDist);
+                }
+            }
+        }
+        float[] table = new float[n];
+        for (int v = 0; v < n; v++) {
+            table[v] = dist[v] == Double.MAX_VALUE ? Float.POSITIVE_INFINITY : (float) dist[v];
+        }
+        return table;
+    }
+
+    private static int[] highestDegree(CsrGraph csr, int k) {
+        Integer[] ids = new Integer[csr.getNodeCount()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        Arrays.sort(ids, (a, b) -> Integer.compare(csr.getDegree(b), csr.getDegree(a)));
+        int[] result = new int[Math.min(k, ids.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids[i];
+        }
+        return result;
+    }
+
+    // 更新每个节点到已选地标的最近距离，返回其中最远的可达节点；不可达分量的节点优先（各分量都需要地标）
+    private static int farthest(float[] latest, double[] nearest, int[] chosen, int chosenCount) {
+        int best = -1;
+        double bestDist = -1.0;
+        for (int v = 0; v < nearest.length; v++) {
+            nearest[v] = Math.min(nearest[v], latest[v]);
+        }
+        for (int v = 0; v < nearest.length; v++) {
+            if (isChosen(chosen, chosenCount, v)) {
+                continue;
+            }
+            double d = nearest[v] == Float.POSITIVE_INFINITY ? Double.MAX_VALUE : nearest[v];
+            if (d > bestDist) {
+                bestDist = d;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isChosen(int[] chosen, int count, int v) {
+        for (int i = 0; i < count; i++) {
+            if (chosen[i] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * v 到 t 的距离下界（三角不等式），无可用地标时为0。
+     * float 表值与真实距离相差不超过半个 ulp，被减项取 nextDown、减项取 nextUp，差值不会超过真实距离
+     */
+    public double lowerBound(int v, int t) {
+        double bound = 0.0;
+        for (int i = 0; i < landmarks.length; i++) {
+            float lv = fromLandmark[i][v];
+            float lt = fromLandmark[i][t];
+            if (lv != Float.POSITIVE_INFINITY && lt != Float.POSITIVE_INFINITY) {
+                bound = Math.max(bound, (double) Math.nextDown(lt) - Math.nextUp(lv));
+            }
+            float vl = toLandmark[i][v];
+            float tl = toLandmark[i][t];
+            if (vl != Float.POSITIVE_INFINITY && tl != Float.POSITIVE_INFINITY) {
+                bound = Math.max(bound, (double) Math.nextDown(vl) - Math.nextUp(tl));
+            }
+        }
+        return bound;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+
+    public int[] getLandmarks() {
+        return landmarks;
+    }
+
+    /**
+     * 保存到磁盘：地标编号、节点名称（用于重新加载时对齐编号）与距离表
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            int n = csr.getNodeCount();
+            out.writeInt(MAGIC);
+            out.writeInt(n);
+            out.writeInt(landmarks.length);
+            out.writeBoolean(toLandmark != fromLandmark);
+            for (int v = 0; v < n; v++) {
+                out.writeUTF(csr.getName(v));
+            }
+            for (int i = 0; i < landmarks.length; i++) {
+                out.writeInt(landmarks[i]);
+                writeTable(out, fromLandmark[i]);
+                if (toLandmark != fromLandmark) {
+                    writeTable(out, toLandmark[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 从磁盘加载并按节点名称映射到给定图的编号；图中节点与保存时不一致时抛出 IOException
+     */
+    public static LandmarkIndex load(Path file, CsrGraph csr) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a landmark index file: " + file);
+            }
+            int n = in.readInt();
+            int k = in.readInt();
+            boolean separateTo = in.readBoolean();
+            if (n != csr.getNodeCount()) {
+                throw new IOException("Landmark index built for " + n + " nodes, graph has " + csr.getNodeCount());
+            }
+            // 文件中的编号 -> 当前图的编号
+            int[] mapping = new int[n];
+            for (int v = 0; v < n; v++) {
+                String name = in.readUTF();
+                int id = csr.indexOf(new Node(name));
+                if (id < 0) {
+                    throw new IOException("Node missing from graph: " + name);
+                }
+                mapping[v] = id;
+            }
+            int[] landmarks = new int[k];
+            float[][] from = new float[k][];
+            float[][] to = separateTo ? new float[k][] : from;
+            for (int i = 0; i < k; i++) {
+                landmarks[i] = mapping[in.readInt()];
+                from[i] = readTable(in, mapping);
+                if (separateTo) {
+                    to[i] = readTable(in, mapping);
+                }
+            }
+            return new LandmarkIndex(csr, landmarks, from, to);
+        }
+    }
+
+    private static void writeTable(DataOutputStream out, float[] table) throws IOException {
+        for (float value : table) {
+            out.writeFloat(value);
+        }
+    }
+
+    private static float[] readTable(DataInputStream in, int[] mapping) throws IOException {
+        float[] table = new float[mapping.length];
+        for (int v = 0; v < mapping.length; v++) {
+            table[mapping[v]] = in.readFloat();
+        }
+        return table;
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import java.util.*;
+
+/**
+ * Leiden 社区检测
+ * 每层依次执行：基于队列的快速局部移动（只重新访问被移动节点的邻居）、
+ * 在每个社区内部的细化（保证社区内部连通），再按细化结果聚合，初始划分沿用局部移动的社区。
+ * 结果形状与 CommunityDetection 一致（社区映射、模块度、每层统计）。
+ */
+public class Leiden {
+    private final CsrGraph csr;
+    private final int[] communities; // 节点编号到社区的映射
+    private Map<Integer, List<Node>> communitiesMap; // 社区到节点列表的映射
+    private double modularity;
+    private final List<CommunityDetection.LevelStats> levelStats = new ArrayList<>();
+    private final Random random = new Random();
+
+    private static final int MAX_LEVELS = 32;
+
+    public Leiden(Graph graph) {
+        this(CsrGraph.from(graph));
+    }
+
+    public Leiden(CsrGraph csr) {
+        this.csr = csr;
+        this.communities = CommunityDetection.identity(csr.getNodeCount());
+    }
+
+    public void detectCommunities() {
+        levelStats.clear();
+        communitiesMap = null;
+        int n = csr.getNodeCount();
+        for (int i = 0; i < n; i++) {
+            communities[i] = i;
+        }
+        double totalArcWeight = csr.getTotalWeight();
+        if (n == 0 || totalArcWeight <= 0) {
+            modularity = 0.0;
+            return;
+        }
+
+        // nodeOf: 原始节点 -> 当前层节点；partition: 当前层节点 -> 社区
+        int[] nodeOf = CommunityDetection.identity(n);
+        CsrGraph level = csr;
+        int[] partition = CommunityDetection.identity(n);
+
+        for (int depth = 0; depth < MAX_LEVELS; depth++) {
+            int levelNodes = level.getNodeCount();
+            int[] counters = new int[2]; // {移动次数, 访问节点次数}
+            moveNodesFast(level, partition, totalArcWeight, counters);
+            int communityCount = CommunityDetection.renumber(partition);
+            double levelModularity = CommunityDetection.modularity(level, partition, totalArcWeight);
+            levelStats.add(new CommunityDetection.LevelStats(depth, levelNodes, communityCount, counters[0],
+                    (counters[1] + levelNodes - 1) / levelNodes, levelModularity));
+
+            // 每个社区只剩一个节点时收敛
+            if (communityCount == levelNodes) {
+                break;
+            }
+
+            int[] refined = refine(level, partition, communityCount, totalArcWeight);
+            int refinedCount = CommunityDetection.renumber(refined);
+            if (refinedCount == levelNodes) {
+                // 细化未合并任何节点时退化为按局部移动结果聚合，保证层数收敛
+                refined = partition.clone();
+                refinedCount = communityCount;
+            }
+
+            // 聚合图的初始划分：超级节点继承其成员所在的社区
+            int[] nextPartition = new int[refinedCount];
+            for (int v = 0; v < levelNodes; v++) {
+                nextPartition[refined[v]] = partition[v];
+            }
+            for (int i = 0; i < n; i++) {
+                nodeOf[i] = refined[nodeOf[i]];
+            }
+            level = CommunityDetection.aggregate(level, refined, refinedCount);
+            partition = nextPartition;
+        }
+
+        for (int i = 0; i < n; i++) {
+            communities[i] = partition[nodeOf[i]];
+        }
+        CommunityDetection.renumber(communities);
+        modularity = CommunityDetection.modularity(csr, communities, totalArcWeight);
+    }
+
+    /**
+     * 快速局部移动：所有节点随机入队，出队节点移到增益最大的社区（可为空社区）；
+     * 节点移动后，只把不在目标社区且不在队列中的邻居重新入队
+     */
+    private void moveNodesFast(CsrGraph level, int[] partition, double totalArcWeight, int[] counters) {
+        int n = level.getNodeCount();
+        int[] offsets = level.getOffsets();
+        int[] targets = level.getTargets();
+        double[] weights = level.getWeights();
+        double[] nodeWeights = new double[n];
+        for (int i = 0; i < n; i++) {
+            nodeWeights[i] = level.getWeightedDegree(i);
+        }
+
+        double[] sigmaTot = new double[n];
+        for (int v = 0; v < n; v++) {
+            sigmaTot[partition[v]] += nodeWeights[v];
+        }
+        int[] emptyCommunities = new int[n];
+        int emptyCount = 0;
+        boolean[] used = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            used[partition[v]] = true;
+        }
+        for (int c = n - 1; c >= 0; c--) {
+            if (!used[c]) {
+                emptyCommunities[emptyCount++] = c;
+            }
+        }
+
+        // 环形队列，每个节点同时最多入队一次
+        int[] queue = CommunityDetection.identity(n);
+        CommunityDetection.shuffle(queue, random);
+        boolean[] queued = new boolean[n];
+        Arrays.fill(queued, true);
+        int head = 0;
+        int size = n;
+
+        double[] neighborWeights = new double[n];
+        boolean[] neighborSeen = new boolean[n];
+        int[] neighborList = new int[n];
+
+        while (size > 0) {
+            int v = queue[head];
+            head = (head + 1) % n;
+            size--;
+            queued[v] = false;
+            counters[1]++;
+
+            int current = partition[v];
+            double k = nodeWeights[v];
+            int neighborCount = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                if (u == v) {
+                    continue;
+                }
+                int c = partition[u];
+                if (!neighborSeen[c]) {
+                    neighborSeen[c] = true;
+                    neighborList[neighborCount++] = c;
+                }
+                neighborWeights[c] += weights[e];
+            }
+
+            sigmaTot[current] -= k;
+            int best = current;
+            double bestGain = gain(neighborWeights[current], sigmaTot[current], k, totalArcWeight);
+            for (int j = 0; j < neighborCount; j++) {
+                int c = neighborList[j];
+                double g = gain(neighborWeights[c], sigmaTot[c], k, totalArcWeight);
+                if (g > bestGain) {
+                    bestGain = g;
+                    best = c;
+                }
+            }
+            // 空社区增益为0
+            if (bestGain < 0 && sigmaTot[current] > 0 && emptyCount > 0) {
+                best = emptyCommunities[--emptyCount];
+            }
+            sigmaTot[best] += k;
+
+            if (best != current) {
+                partition[v] = best;
+                counters[0]++;
+                if (sigmaTot[current] <= 0) {
+                    emptyCommunities[emptyCount++] = current;
+                }
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = targets[e];
+                    if (!queued[u] && partition[u] != best) {
+                        queued[u] = true;
+                        queue[(head + size) % n] = u;
+                        size++;
+                    }
+                }
+            }
+
+            for (int j = 0; j < neighborCount; j++) {
+                neighborWeights[neighborList[j]] = 0.0;
+                neighborSeen[neighborList[j]] = false;
+            }
+        }
+    }
+
+    /**
+     * 细化：在每个社区内部从单点划分开始，只把与社区连接充分的单点节点
+     * 合并到同社区内连接充分的子社区，保证每个子社区内部连通
+     */
+    private int[] refine(CsrGraph level, int[] partition, int communityCount, double totalArcWeight) {
+        int n = level.getNodeCount();
+        int[] offsets = level.getOffsets();
+        int[] targets = level.getTargets();
+        double[] weights = level.getWeights();
+
+        double[] nodeWeights = new double[n];
+        double[] communityTot = new double[communityCount];
+        double[] external = new double[n]; // 节点到同社区其他节点的连接权重
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                nodeWeights[v] += weights[e];
+                if (targets[e] != v && partition[targets[e]] == partition[v]) {
+                    external[v] += weights[e];
+                }
+            }
+            communityTot[partition[v]] += nodeWeights[v];
+        }
+
+        // 子社区状态：总度、成员数、与所在社区其余部分的连接权重
+        int[] refined = CommunityDetection.identity(n);
+        double[] refinedTot = nodeWeights.clone();
+        int[] refinedSize = new int[n];
+        Arrays.fill(refinedSize, 1);
+        double[] refinedExternal = external.clone();
+
+        double[] neighborWeights = new double[n];
+        boolean[] neighborSeen = new boolean[n];
+        int[] neighborList = new int[n];
+
+        int[] order = CommunityDetection.identity(n);
+        CommunityDetection.shuffle(order, random);
+        for (int v : order) {
+            int own = refined[v];
+            if (refinedSize[own] != 1) {
+                continue;
+            }
+            int c = partition[v];
+            double k = nodeWeights[v];
+            double rest = communityTot[c] - k;
+            if (external[v] < k * rest / totalArcWeight) {
+                continue;
+            }
+
+            int neighborCount = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                if (u == v || partition[u] != c) {
+                    continue;
+                }
+                int r = refined[u];
+                if (!neighborSeen[r]) {
+                    neighborSeen[r] = true;
+                    neighborList[neighborCount++] = r;
+                }
+                neighborWeights[r] += weights[e];
+            }
+
+            // 留作单点的增益为0，选增益最大且不为负的连接充分子社区
+            int best = own;
+            double bestGain = 0.0;
+            for (int j = 0; j < neighborCount; j++) {
+                int r = neighborList[j];
+                double tot = refinedTot[r];
+                if (refinedExternal[r] < tot * (communityTot[c] - tot) / totalArcWeight) {
+                    continue;
+                }
+                double g = gain(neighborWeights[r], tot, k, totalArcWeight);
+                if (g >= bestGain) {
+                    bestGain = g;
+                    best = r;
+                }
+            }
+
+            if (best != own) {
+                refined[v] = best;
+                refinedTot[best] += k;
+                refinedSize[best]++;
+                refinedExternal[best] += external[v] - 2 * neighborWeights[best];
+                refinedSize[own] = 0;
+                refinedTot[own] = 0.0;
+            }
+
+            for (int j = 0; j < neighborCount; j++) {
+                neighborWeights[neighborList[j]] = 0.0;
+                neighborSeen[neighborList[j]] = false;
+            }
+        }
+        return refined;
+    }
+
+    // 节点移入社区的模块度增益（乘以 m 后的形式）：ki_in - Σ_tot * ki / 2m
+    private static double gain(double ki_in, double sigma_tot, double nodeWeight, double totalArcWeight) {
+        return ki_in - sigma_tot * nodeWeight / totalArcWeight;
+    }
+
+    private void buildCommunitiesMap() {
+        communitiesMap = new HashMap<>();
+        for (int i = 0; i < communities.length; i++) {
+            communitiesMap.computeIfAbsent(communities[i], k -> new ArrayList<>()).add(csr.getNode(i));
+        }
+    }
+
+    // ========== 结果获取方法 ==========
+    public Map<Integer, List<Node>> getCommunities() {
+        if (communitiesMap == null)
+            buildCommunitiesMap();
+        return Collections.unmodifiableMap(communitiesMap);
+    }
+
+    /**
+     * 按CSR节点编号索引的社区编号数组（只读），序列化时再映射回名称
+     */
+    public int[] getMembership() {
+        return communities;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+
+    public double getModularity() {
+        return modularity;
+    }
+
+    /**
+     * 每层统计信息；iterations 为局部移动访问节点次数折算的完整遍历轮数
+     */
+    public List<CommunityDetection.LevelStats> getLevelStats() {
+        return Collections.unmodifiableList(levelStats);
+    }
+}
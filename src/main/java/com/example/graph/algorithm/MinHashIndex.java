@@ -0,0 +1,246 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Node;
+import java.util.*;
+
+/**
+ * MinHash 签名 + LSH 分桶的近似 Jaccard 相似度索引
+ * 签名由 JaccardSimilarity 缓存的邻居集合计算，邻居按名称哈希，因此不同子图构建的签名可以互相比较，
+ * 索引按节点名称保存签名，可在多次工具调用之间复用和增量更新。
+ * 哈希函数个数决定估计精度（标准差约 1/sqrt(k)），分带数决定候选召回的阈值曲线。
+ * 签名数超过容量时按最近最少使用淘汰，常驻服务中索引大小有上限。
+ */
+public class MinHashIndex {
+    private final int numHashes;
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+    private final int maxSize;
+    // 按访问顺序排列，最久未使用的签名在最前
+    private final LinkedHashMap<String, int[]> signatures = new LinkedHashMap<>(16, 0.75f, true);
+    // 每个分带一张桶表：分带哈希 -> 节点名称集合
+    private final List<Map<Long, Set<String>>> buckets;
+
+    /**
+     * @param numHashes 哈希函数个数（签名长度）
+     * @param bands     LSH 分带数，须能整除 numHashes
+     */
+    public MinHashIndex(int numHashes, int bands) {
+        this(numHashes, bands, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param numHashes 哈希函数个数（签名长度）
+     * @param bands     LSH 分带数，须能整除 numHashes
+     * @param maxSize   最多保存的签名数，超过时淘汰最久未使用的
+     */
+    public MinHashIndex(int numHashes, int bands, int maxSize) {
+        if (numHashes <= 0 || bands <= 0 || numHashes % bands != 0) {
+            throw new IllegalArgumentException("numHashes must be a positive multiple of bands");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.numHashes = numHashes;
+        this.maxSize = maxSize;
+        this.bands = bands;
+        this.rows = numHashes / bands;
+        // 固定种子，保证不同实例、不同子图算出的签名一致
+        this.seeds = new long[numHashes];
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+        this.buckets = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 为相似度对象中的所有节点计算签名并加入索引，已存在的节点签名被替换；
+     * 仅适用于每个节点的邻居集合都完整的图
+     */
+    public synchronized void addAll(JaccardSimilarity similarity) {
+        CsrGraph csr = similarity.getCsrGraph();
+        int n = csr.getNodeCount();
+        long[] elementHashes = elementHashes(csr);
+        for (int i = 0; i < n; i++) {
+            add(similarity, i, elementHashes);
+        }
+    }
+
+    /**
+     * 只为给定名称的节点计算签名并加入索引。子图中其他节点（如一跳搭档）的邻居集合不完整，
+     * 由它们算出的签名会覆盖掉此前完整的签名，因此不入索引
+     *
+     * @param names 邻居集合完整的节点名称，不在图中的名称被忽略
+     */
+    public synchronized void addAll(JaccardSimilarity similarity, Collection<String> names) {
+        CsrGraph csr = similarity.getCsrGraph();
+        long[] elementHashes = elementHashes(csr);
+        for (String name : names) {
+            int id = csr.indexOf(new Node(name));
+            if (id >= 0) {
+                add(similarity, id, elementHashes);
+            }
+        }
+    }
+
+    private void add(JaccardSimilarity similarity, int id, long[] elementHashes) {
+        int[] neighbors = similarity.getNeighborIds(id);
+        if (neighbors.length > 0) {
+            put(similarity.getCsrGraph().getName(id), signature(neighbors, elementHashes));
+        }
+    }
+
+    private static long[] elementHashes(CsrGraph csr) {
+        long[] hashes = new long[csr.getNodeCount()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = hashName(csr.getName(i));
+        }
+        return hashes;
+    }
+
+    private int[] signature(int[] neighbors, long[] elementHashes) {
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int v : neighbors) {
+            long element = elementHashes[v];
+            for (int h = 0; h < numHashes; h++) {
+                int value = (int) (mix(element ^ seeds[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private void put(String name, int[] signature) {
+        int[] previous = signatures.put(name, signature);
+        if (previous != null) {
+            removeFromBuckets(name, previous);
+        }
+        for (int b = 0; b < bands; b++) {
+            buckets.get(b).computeIfAbsent(bandHash(signature, b), k -> new HashSet<>()).add(name);
+        }
+        while (signatures.size() > maxSize) {
+            Iterator<Map.Entry<String, int[]>> eldest = signatures.entrySet().iterator();
+            Map.Entry<String, int[]> entry = eldest.next();
+            eldest.remove();
+            removeFromBuckets(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void removeFromBuckets(String name, int[] signature) {
+        for (int b = 0; b < bands; b++) {
+            Map<Long, Set<String>> table = buckets.get(b);
+            long key = bandHash(signature, b);
+            Set<String> bucket = table.get(key);
+            if (bucket != null && bucket.remove(name) && bucket.isEmpty()) {
+                table.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 估计两个节点的 Jaccard 相似度（签名相同位置的比例），任一节点不在索引中时返回0
+     */
+    public synchronized double estimate(String a, String b) {
+        int[] sa = signatures.get(a);
+        int[] sb = signatures.get(b);
+        if (sa == null || sb == null) {
+            return 0.0;
+        }
+        return agreement(sa, sb);
+    }
+
+    /**
+     * 通过 LSH 分桶召回候选，返回估计相似度不低于阈值的节点（按相似度降序，不含自身）
+     */
+    public synchronized Map<String, Double> findSimilar(String name, double threshold) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        int[] signature = signatures.get(name);
+        if (signature == null) {
+            return result;
+        }
+        Set<String> candidates = new HashSet<>();
+        for (int b = 0; b < bands; b++) {
+            Set<String> bucket = buckets.get(b).get(bandHash(signature, b));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(name);
+
+        List<Map.Entry<String, Double>> scored = new ArrayList<>();
+        for (String candidate : candidates) {
+            double score = agreement(signature, signatures.get(candidate));
+            if (score >= threshold) {
+                scored.add(new AbstractMap.SimpleEntry<>(candidate, score));
+            }
+        }
+        scored.sort((x, y) -> Double.compare(y.getValue(), x.getValue()));
+        for (Map.Entry<String, Double> entry : scored) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    public synchronized boolean contains(String name) {
+        return signatures.containsKey(name);
+    }
+
+    public synchronized int size() {
+        return signatures.size();
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    private double agreement(int[] sa, int[] sb) {
+        int equal = 0;
+        for (int h = 0; h < numHashes; h++) {
+            if (sa[h] == sb[h]) {
+                equal++;
+            }
+        }
+        return (double) equal / numHashes;
+    }
+
+    private long bandHash(int[] signature, int band) {
+        long hash = band;
+        for (int r = band * rows; r < (band + 1) * rows; r++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[r];
+        }
+        return mix(hash);
+    }
+
+    // 名称的 64 位 FNV-1a 哈希，作为集合元素的稳定标识
+    private static long hashName(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 混合函数
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+
+import java.util.*;
+
+/**
+ * 多源位并行BFS（MS-BFS）：每个节点用一个 long 位掩码记录哪些源已到达，
+ * 一次遍历同时推进至多 64 个源的前沿，共享邻接表扫描，批量跳数查询的代价接近一次单源BFS。
+ */
+public class MultiSourceBfs {
+    // 单次遍历可同时处理的源数（long 的位数）
+    public static final int BATCH_SIZE = Long.SIZE;
+
+    private final CsrGraph csr;
+
+    /**
+     * 接收每个源到达的节点及跳数，sourceIndex 为源在输入数组中的下标
+     */
+    @FunctionalInterface
+    public interface HopVisitor {
+        void visit(int sourceIndex, int node, int depth);
+    }
+
+    public MultiSourceBfs(Graph graph) {
+        this(CsrGraph.from(graph));
+    }
+
+    public MultiSourceBfs(CsrGraph csr) {
+        this.csr = csr;
+    }
+
+    /**
+     * 计算每个源在 maxDepth 跳内可达的节点及跳数（含源自身，跳数为0），结果只包含可达节点
+     */
+    public Map<Node, Map<Node, Integer>> hopDistances(List<Node> sources, int maxDepth) {
+        int[] ids = new int[sources.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = csr.indexOf(sources.get(i));
+            if (ids[i] < 0) {
+                throw new IllegalArgumentException("Node not in graph: " + sources.get(i).getId());
+            }
+        }
+        List<Map<Node, Integer>> perSource = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            perSource.add(new HashMap<>());
+        }
+        traverse(ids, maxDepth, (source, node, depth) -> perSource.get(source).put(csr.getNode(node), depth));
+
+        Map<Node, Map<Node, Integer>> result = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            result.put(sources.get(i), perSource.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 按 64 个源一批遍历，源按节点编号给出，节点首次被某个源到达时回调一次
+     */
+    public void traverse(int[] sources, int maxDepth, HopVisitor visitor) {
+        BatchState state = new BatchState(csr.getNodeCount());
+        for (int start = 0; start < sources.length; start += BATCH_SIZE) {
+            int end = Math.min(start + BATCH_SIZE, sources.length);
+            traverseBatch(sources, start, end, maxDepth, visitor, state);
+        }
+    }
+
+    // 单批遍历：visit 为当前层前沿各节点的源掩码，visitNext 收集下一层新到达的源，seen 为已到达的源
+    private void traverseBatch(int[] sources, int start, int end, int maxDepth, HopVisitor visitor,
+            BatchState state) {
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        long[] seen = state.seen;
+        long[] visit = state.visit;
+        long[] visitNext = state.visitNext;
+        int[] frontier = state.frontier;
+        int[] next = state.next;
+        int frontierSize = 0;
+        for (int i = start; i < end; i++) {
+            int node = sources[i];
+            long bit = 1L << (i - start);
+            if (seen[node] == 0) {
+                frontier[frontierSize++] = node;
+                state.reached[state.reachedCount++] = node;
+            }
+            seen[node] |= bit;
+            visit[node] |= bit;
+            visitor.visit(i, node, 0);
+        }
+
+        for (int depth = 1; depth <= maxDepth && frontierSize > 0; depth++) {
+            int nextSize = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                int current = frontier[i];
+                long mask = visit[current];
+                visit[current] = 0;
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int neighbor = targets[e];
+                    long fresh = mask & ~seen[neighbor];
+                    if (fresh != 0) {
+                        if (visitNext[neighbor] == 0) {
+                            next[nextSize++] = neighbor;
+                        }
+                        visitNext[neighbor] |= fresh;
+                    }
+                }
+            }
+            // 整层扩展完成后再合并到 seen，保证同层到达的源都记为相同跳数
+            for (int i = 0; i < nextSize; i++) {
+                int node = next[i];
+                long discovered = visitNext[node];
+                visitNext[node] = 0;
+                if (seen[node] == 0) {
+                    state.reached[state.reachedCount++] = node;
+                }
+                seen[node] |= discovered;
+                visit[node] = discovered;
+                for (long bits = discovered; bits != 0; bits &= bits - 1) {
+                    visitor.visit(start + Long.numberOfTrailingZeros(bits), node, depth);
+                }
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+        }
+
+        // 只清理本批触达过的节点，避免每批 O(n) 重置
+        for (int i = 0; i < frontierSize; i++) {
+            visit[frontier[i]] = 0;
+        }
+        for (int i = 0; i < state.reachedCount; i++) {
+            seen[state.reached[i]] = 0;
+        }
+        state.reachedCount = 0;
+    }
+
+    // 跨批复用的遍历数组
+    private static class BatchState {
+        private final long[] seen;
+        private final long[] visit;
+        private final long[] visitNext;
+        private final int[] frontier;
+        private final int[] next;
+        private final int[] reached;
+        private int reachedCount;
+
+        BatchState(int n) {
+            this.seen = new long[n];
+            this.visit = new long[n];
+            this.visitNext = new long[n];
+            this.frontier = new int[n];
+            this.next = new int[n];
+            this.reached = new int[n];
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.graph.algorithm;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 多个有序邻居数组求交（共同好友）：从最短的数组开始逐个求交，中间结果为空时立即返回。
+ * 两边长度相差悬殊时对长数组做倍增查找，代价约为 O(短 × log(长 / 短))，否则线性归并。
+ */
+public final class MutualNeighbors {
+    // 长数组不少于短数组的该倍数时改用倍增查找
+    private static final int GALLOP_RATIO = 16;
+
+    private MutualNeighbors() {
+    }
+
+    /**
+     * @param sortedSets 每个数组严格升序（无重复）
+     * @return 所有数组共有的元素，升序
+     */
+    public static int[] intersect(int[]... sortedSets) {
+        if (sortedSets.length == 0) {
+            return new int[0];
+        }
+        int[][] ordered = sortedSets.clone();
+        Arrays.sort(ordered, Comparator.comparingInt(a -> a.length));
+        int[] result = ordered[0];
+        for (int i = 1; i < ordered.length && result.length > 0; i++) {
+            result = intersect(result, ordered[i]);
+        }
+        // 未经过求交时 result 仍是调用方的数组
+        return result == ordered[0] ? result.clone() : result;
+    }
+
+    // small 不长于 large
+    private static int[] intersect(int[] small, int[] large) {
+        int[] out = new int[small.length];
+        int size = 0;
+        if ((long) small.length * GALLOP_RATIO <= large.length) {
+            int from = 0;
+            for (int value : small) {
+                from = gallop(large, from, value);
+                if (from == large.length) {
+                    break;
+                }
+                if (large[from] == value) {
+                    out[size++] = value;
+                    from++;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                if (small[i] < large[j]) {
+                    i++;
+                } else if (small[i] > large[j]) {
+                    j++;
+                } else {
+                    out[size++] = small[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+    // 从 from 开始倍增步长定位区间，再二分，返回第一个不小于 value 的位置
+    private static int gallop(int[] array, int from, int value) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < array.length && array[high] < value) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        high = Math.min(high, array.length);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (array[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -1,121 +1,292 @@
 package com.example.graph.algorithm;
 
-import com.example.graph.core.Edge;
+import com.example.graph.core.CsrGraph;
 import com.example.graph.core.Graph;
 import com.example.graph.core.Node;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class PageRank {
-    private final Graph graph;
+    private final CsrGraph csr;
     private final double dampingFactor;
     private final double tolerance;
     private final int maxIterations;
+    private double[] ranks;
     private Map<Node, Double> pageRanks;
-    // 缓存每个节点的出度和入度节点，提升效率
-    private final Map<Node, Integer> outDegreeCache = new HashMap<>();
-    private final Map<Node, List<Node>> inNodesCache = new HashMap<>();
+    // 缓存每个节点的出度，入边直接读取CSR反向数组
+    private final int[] outDegree;
+    // 并行模式下每个子任务至少处理的节点数
+    private static final int MIN_CHUNK_SIZE = 1024;
 
     public PageRank(Graph graph) {
         this(graph, 0.85, 1e-6, 100);
     }
 
     public PageRank(Graph graph, double dampingFactor, double tolerance, int maxIterations) {
-        this.graph = graph;
+        this(CsrGraph.from(graph), dampingFactor, tolerance, maxIterations);
+    }
+
+    public PageRank(CsrGraph csr) {
+        this(csr, 0.85, 1e-6, 100);
+    }
+
+    public PageRank(CsrGraph csr, double dampingFactor, double tolerance, int maxIterations) {
+        this.csr = csr;
         this.dampingFactor = dampingFactor;
         this.tolerance = tolerance;
         this.maxIterations = maxIterations;
-        cacheDegrees();
-    }
-
-    // 预先缓存出度和入度节点
-    private void cacheDegrees() {
-        for (Node node : graph.getNodes()) {
-            outDegreeCache.put(node, graph.getDegree(node));
-        }
-        for (Node node : graph.getNodes()) {
-            inNodesCache.put(node, getIncomingNodes(node));
+        this.outDegree = new int[csr.getNodeCount()];
+        for (int i = 0; i < outDegree.length; i++) {
+            outDegree[i] = csr.getDegree(i);
         }
     }
 
     public void compute() {
-        initializePageRanks();
-        int iteration = 0;
-        double totalChange;
-        int nodeCount = graph.getNodes().size();
+        int nodeCount = csr.getNodeCount();
+        ranks = new double[nodeCount];
+        pageRanks = null;
         if (nodeCount == 0)
             return;
+        Arrays.fill(ranks, 1.0 / nodeCount);
 
-        do {
-            totalChange = 0.0;
-            Map<Node, Double> newPageRanks = new HashMap<>();
+        double[] next = new double[nodeCount];
+        int iteration = 0;
+        double totalChange;
 
+        do {
             // 预先计算所有悬挂节点（无出边节点）的PageRank总和
             double danglingSum = 0.0;
-            for (Node node : graph.getNodes()) {
-                if (outDegreeCache.get(node) == 0) {
-                    danglingSum += pageRanks.get(node);
+            for (int i = 0; i < nodeCount; i++) {
+                if (outDegree[i] == 0) {
+                    danglingSum += ranks[i];
                 }
             }
 
             // 计算每个节点的新PageRank
-            for (Node node : graph.getNodes()) {
-                double incomingPR = 0.0;
-                for (Node incoming : inNodesCache.get(node)) {
-                    int outgoingCount = outDegreeCache.get(incoming);
-                    if (outgoingCount > 0) {
-                        incomingPR += pageRanks.get(incoming) / outgoingCount;
-                    }
-                }
-                double newRank = (1.0 - dampingFactor) / nodeCount;
-                newRank += dampingFactor * (incomingPR + danglingSum / nodeCount);
-                totalChange += Math.abs(newRank - pageRanks.get(node));
-                newPageRanks.put(node, newRank);
-            }
+            double[] pulled = pull(ranks, next, danglingSum, 0, nodeCount);
+            totalChange = pulled[0];
+            double sum = pulled[1];
 
             // 归一化，提升数值稳定性
-            double sum = newPageRanks.values().stream().mapToDouble(Double::doubleValue).sum();
             if (sum > 0) {
-                newPageRanks.replaceAll((node, rank) -> rank / sum);
+                for (int v = 0; v < nodeCount; v++) {
+                    next[v] /= sum;
+                }
             }
 
-            pageRanks = newPageRanks;
+            double[] swap = ranks;
+            ranks = next;
+            next = swap;
             iteration++;
         } while (totalChange > tolerance && iteration < maxIterations);
     }
 
-    // 获取节点的所有入度节点
-    private List<Node> getIncomingNodes(Node node) {
-        return graph.getEdges().stream()
-                .filter(edge -> edge.getDestination().equals(node))
-                .map(Edge::getSource)
-                .distinct()
-                .collect(Collectors.toList());
-    }
-
-    private void initializePageRanks() {
-        pageRanks = new HashMap<>();
-        int nodeCount = graph.getNodes().size();
+    /**
+     * 并行拉取式计算：两个 double[] 排名向量交替使用，节点区间拆分到 ForkJoin 池中，
+     * 悬挂节点质量、收敛误差和归一化均按区间并行归约。结果与 compute() 在浮点误差内一致。
+     *
+     * @param parallelism 并行度，小于等于0时使用公共池
+     */
+    public void computeParallel(int parallelism) {
+        int nodeCount = csr.getNodeCount();
+        ranks = new double[nodeCount];
+        pageRanks = null;
         if (nodeCount == 0)
             return;
-        double initialRank = 1.0 / nodeCount;
-        for (Node node : graph.getNodes()) {
-            pageRanks.put(node, initialRank);
+        Arrays.fill(ranks, 1.0 / nodeCount);
+
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, nodeCount / (pool.getParallelism() * 8));
+        try {
+            double[] next = new double[nodeCount];
+            double danglingSum = pool.invoke(new DanglingTask(ranks, 0, nodeCount, chunkSize));
+            int iteration = 0;
+            double totalChange;
+
+            do {
+                double[] pulled = pool.invoke(new PullTask(ranks, next, danglingSum, 0, nodeCount, chunkSize));
+                totalChange = pulled[0];
+                double sum = pulled[1];
+
+                // 归一化与下一轮悬挂节点质量合并为一次并行遍历
+                double scale = sum > 0 ? 1.0 / sum : 1.0;
+                danglingSum = pool.invoke(new ScaleTask(next, scale, 0, nodeCount, chunkSize));
+
+                double[] swap = ranks;
+                ranks = next;
+                next = swap;
+                iteration++;
+            } while (totalChange > tolerance && iteration < maxIterations);
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // 计算 [from, to) 区间的新排名，返回 {误差和, 排名和}；入边行内有序，跳过重复的入度节点
+    private double[] pull(double[] current, double[] next, double danglingSum, int from, int to) {
+        int nodeCount = current.length;
+        int[] inOffsets = csr.getInOffsets();
+        int[] inSources = csr.getInSources();
+        double base = (1.0 - dampingFactor) / nodeCount + dampingFactor * danglingSum / nodeCount;
+        double change = 0.0;
+        double sum = 0.0;
+        for (int v = from; v < to; v++) {
+            double incomingPR = 0.0;
+            int previous = -1;
+            for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                int u = inSources[e];
+                if (u != previous && outDegree[u] > 0) {
+                    incomingPR += current[u] / outDegree[u];
+                }
+                previous = u;
+            }
+            double newRank = base + dampingFactor * incomingPR;
+            change += Math.abs(newRank - current[v]);
+            next[v] = newRank;
+            sum += newRank;
+        }
+        return new double[] { change, sum };
+    }
+
+    private final class PullTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] current;
+        private final double[] next;
+        private final double danglingSum;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        PullTask(double[] current, double[] next, double danglingSum, int from, int to, int chunkSize) {
+            this.current = current;
+            this.next = next;
+            this.danglingSum = danglingSum;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= chunkSize) {
+                return pull(current, next, danglingSum, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            PullTask left = new PullTask(current, next, danglingSum, from, mid, chunkSize);
+            left.fork();
+            double[] right = new PullTask(current, next, danglingSum, mid, to, chunkSize).compute();
+            double[] leftResult = left.join();
+            return new double[] { leftResult[0] + right[0], leftResult[1] + right[1] };
+        }
+    }
+
+    private final class DanglingTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] current;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        DanglingTask(double[] current, int from, int to, int chunkSize) {
+            this.current = current;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= chunkSize) {
+                double sum = 0.0;
+                for (int i = from; i < to; i++) {
+                    if (outDegree[i] == 0) {
+                        sum += current[i];
+                    }
+                }
+                return sum;
+            }
+            int mid = (from + to) >>> 1;
+            DanglingTask left = new DanglingTask(current, from, mid, chunkSize);
+            left.fork();
+            double right = new DanglingTask(current, mid, to, chunkSize).compute();
+            return left.join() + right;
+        }
+    }
+
+    // 按比例缩放 [from, to) 区间，同时返回缩放后悬挂节点的排名和
+    private final class ScaleTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] values;
+        private final double scale;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        ScaleTask(double[] values, double scale, int from, int to, int chunkSize) {
+            this.values = values;
+            this.scale = scale;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= chunkSize) {
+                double dangling = 0.0;
+                for (int i = from; i < to; i++) {
+                    values[i] *= scale;
+                    if (outDegree[i] == 0) {
+                        dangling += values[i];
+                    }
+                }
+                return dangling;
+            }
+            int mid = (from + to) >>> 1;
+            ScaleTask left = new ScaleTask(values, scale, from, mid, chunkSize);
+            left.fork();
+            double right = new ScaleTask(values, scale, mid, to, chunkSize).compute();
+            return left.join() + right;
         }
     }
 
     public Map<Node, Double> getPageRanks() {
+        if (pageRanks == null) {
+            Map<Node, Double> result = new HashMap<>();
+            if (ranks != null) {
+                for (int i = 0; i < ranks.length; i++) {
+                    result.put(csr.getNode(i), ranks[i]);
+                }
+            }
+            pageRanks = result;
+        }
         return Collections.unmodifiableMap(pageRanks);
     }
 
+    /**
+     * 按CSR节点编号索引的分数数组（只读），序列化时再映射回名称
+     */
+    public double[] getRanks() {
+        return ranks == null ? new double[0] : ranks;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+
     // 新增：支持通过节点ID获取分数
     public Double getPageRankById(String nodeId) {
-        for (Node node : pageRanks.keySet()) {
-            if (node.getId().equals(nodeId)) {
-                return pageRanks.get(node);
-            }
+        int id = csr.indexOf(new Node(nodeId));
+        if (id < 0 || ranks == null) {
+            return null;
         }
-        return null;
+        return ranks[id];
     }
-}
\ No newline at end of file
+}
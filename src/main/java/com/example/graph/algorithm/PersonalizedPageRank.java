@@ -0,0 +1,175 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+
+import java.util.*;
+
+/**
+ * 个性化PageRank（Andersen–Chung–Lang 前向推送近似）
+ * 从种子节点出发只推送残差超过 epsilon * 度 的节点，计算量与结果规模相关而与全图规模无关。
+ * 同一实例可对不同种子重复查询，每次只重置上次触达的节点。
+ */
+public class PersonalizedPageRank {
+    private final CsrGraph csr;
+    private final double alpha; // 回到种子的概率（1 - 阻尼系数）
+    private final double epsilon;
+    private final double[] weightedDegree;
+
+    // 稠密工作数组，仅通过 touched 列表局部重置
+    private final double[] estimates;
+    private final double[] residuals;
+    private final boolean[] queued;
+    private final boolean[] visited;
+    private final int[] queue; // 环形队列，每个节点同时最多入队一次
+    private int head;
+    private int size;
+    private int[] touched;
+    private int touchedCount;
+
+    public PersonalizedPageRank(Graph graph) {
+        this(CsrGraph.from(graph), 0.85, 1e-4);
+    }
+
+    public PersonalizedPageRank(Graph graph, double dampingFactor, double epsilon) {
+        this(CsrGraph.from(graph), dampingFactor, epsilon);
+    }
+
+    public PersonalizedPageRank(CsrGraph csr, double dampingFactor, double epsilon) {
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("epsilon must be positive");
+        }
+        this.csr = csr;
+        this.alpha = 1.0 - dampingFactor;
+        this.epsilon = epsilon;
+        int n = csr.getNodeCount();
+        this.weightedDegree = new double[n];
+        for (int i = 0; i < n; i++) {
+            weightedDegree[i] = csr.getWeightedDegree(i);
+        }
+        this.estimates = new double[n];
+        this.residuals = new double[n];
+        this.queued = new boolean[n];
+        this.visited = new boolean[n];
+        this.queue = new int[Math.max(n, 1)];
+        this.touched = new int[16];
+    }
+
+    /**
+     * 以给定种子节点（均匀分布）计算个性化PageRank近似值，按分数降序返回
+     */
+    public Map<Node, Double> compute(Collection<Node> seeds) {
+        reset();
+        List<Integer> seedIds = new ArrayList<>();
+        for (Node seed : seeds) {
+            int id = csr.indexOf(seed);
+            if (id >= 0) {
+                seedIds.add(id);
+            }
+        }
+        if (seedIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        for (int seed : seedIds) {
+            touch(seed);
+            residuals[seed] += 1.0 / seedIds.size();
+        }
+        for (int seed : seedIds) {
+            enqueueIfActive(seed);
+        }
+
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        double[] weights = csr.getWeights();
+        while (size > 0) {
+            int u = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            queued[u] = false;
+            double r = residuals[u];
+            residuals[u] = 0.0;
+            if (weightedDegree[u] <= 0) {
+                // 无出边节点吸收全部残差
+                estimates[u] += r;
+                continue;
+            }
+            estimates[u] += alpha * r;
+            double push = (1.0 - alpha) * r / weightedDegree[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                touch(v);
+                residuals[v] += push * weights[e];
+                enqueueIfActive(v);
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(touchedCount);
+        for (int i = 0; i < touchedCount; i++) {
+            if (estimates[touched[i]] > 0) {
+                ranked.add(touched[i]);
+            }
+        }
+        ranked.sort((a, b) -> Double.compare(estimates[b], estimates[a]));
+        Map<Node, Double> result = new LinkedHashMap<>();
+        for (int id : ranked) {
+            result.put(csr.getNode(id), estimates[id]);
+        }
+        return result;
+    }
+
+    /**
+     * 返回分数最高的前 k 个节点
+     */
+    public Map<Node, Double> topK(Collection<Node> seeds, int k) {
+        Map<Node, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<Node, Double> entry : compute(seeds).entrySet()) {
+            if (result.size() >= k) {
+                break;
+            }
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * 上一次查询触达的节点数（即推送实际访问的邻域规模）
+     */
+    public int getTouchedCount() {
+        return touchedCount;
+    }
+
+    private void enqueueIfActive(int v) {
+        double threshold = weightedDegree[v] > 0 ? epsilon * weightedDegree[v] : epsilon;
+        if (!queued[v] && residuals[v] >= threshold) {
+            queued[v] = true;
+            queue[(head + size) % queue.length] = v;
+            size++;
+        }
+    }
+
+    private void touch(int v) {
+        if (visited[v]) {
+            return;
+        }
+        visited[v] = true;
+        if (touchedCount == touched.length) {
+            touched = Arrays.copyOf(touched, touchedCount * 2);
+        }
+        touched[touchedCount++] = v;
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            estimates[v] = 0.0;
+            residuals[v] = 0.0;
+            queued[v] = false;
+            visited[v] = false;
+        }
+        touchedCount = 0;
+        head = 0;
+        size = 0;
+    }
+}
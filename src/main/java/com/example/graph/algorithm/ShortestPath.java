@@ -1,169 +1,667 @@
 package com.example.graph.algorithm;
 
-import com.example.graph.core.Edge;
+import com.example.graph.core.CsrGraph;
 import com.example.graph.core.Graph;
 import com.example.graph.core.Node;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 public class ShortestPath {
-    private final Graph graph;
+    private final CsrGraph csr;
+    // 点对点查询的正向/反向搜索状态，按触达列表局部重置以便复用（实例非线程安全）
+    private SearchState forward;
+    private SearchState backward;
+    private int settledCount;
 
     public ShortestPath(Graph graph) {
-        this.graph = graph;
+        this(CsrGraph.from(graph));
+    }
+
+    public ShortestPath(CsrGraph csr) {
+        this.csr = csr;
     }
 
     public Map<Node, PathResult> dijkstra(Node source) {
-        if (!graph.containsNode(source)) {
+        return dijkstraTree(source).toResults();
+    }
+
+    /**
+     * 单源Dijkstra：索引4叉堆（decrease-key）+ 原始类型距离/前驱数组，路径按需构建
+     */
+    public ShortestPathTree dijkstraTree(Node source) {
+        int src = csr.indexOf(source);
+        if (src < 0) {
             throw new IllegalArgumentException("Source node not in graph");
         }
 
         // Initialize data structures
-        Map<Node, Double> distances = new HashMap<>();
-        Map<Node, Node> predecessors = new HashMap<>();
-        PriorityQueue<NodeDistance> queue = new PriorityQueue<>(Comparator.comparingDouble(NodeDistance::getDistance));
-        
-        // Initialize distances
-        for (Node node : graph.getNodes()) {
-            distances.put(node, Double.MAX_VALUE);
-        }
-        distances.put(source, 0.0);
-        queue.add(new NodeDistance(source, 0.0));
-        
-        while (!queue.isEmpty()) {
-            Node current = queue.poll().getNode();
-            double currentDist = distances.get(current);
-            
+        int n = csr.getNodeCount();
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        double[] weights = csr.getWeights();
+        double[] distances = new double[n];
+        int[] predecessors = new int[n];
+        Arrays.fill(distances, Double.MAX_VALUE);
+        Arrays.fill(predecessors, -1);
+        IndexedHeap heap = new IndexedHeap(n);
+
+        distances[src] = 0.0;
+        heap.insertOrDecrease(src, 0.0);
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            double currentDist = distances[current];
+
             // Explore neighbors
-            for (Edge edge : graph.getEdgesFromNode(current)) {
-                Node neighbor = edge.getDestination();
-                double edgeWeight = edge.getWeight();
-                double newDist = currentDist + edgeWeight;
-                
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                double newDist = currentDist + weights[e];
+
                 // If we found a shorter path to the neighbor
-                if (newDist < distances.get(neighbor)) {
-                    distances.put(neighbor, newDist);
-                    predecessors.put(neighbor, current);
-                    queue.add(new NodeDistance(neighbor, newDist));
+                if (newDist < distances[neighbor]) {
+                    distances[neighbor] = newDist;
+                    predecessors[neighbor] = current;
+                    heap.insertOrDecrease(neighbor, newDist);
                 }
             }
         }
-        
-        // Build results
-        Map<Node, PathResult> results = new HashMap<>();
-        for (Node node : graph.getNodes()) {
-            List<Node> path = buildPath(predecessors, source, node);
-            results.put(node, new PathResult(path, distances.get(node)));
-        }
-        
-        return results;
+
+        return new ShortestPathTree(csr, src, distances, predecessors);
     }
 
     public Map<Node, PathResult> bfs(Node source) {
-        if (!graph.containsNode(source)) {
+        return bfsTree(source).toResults();
+    }
+
+    /**
+     * 单源BFS（按跳数），不可达节点距离为 Double.MAX_VALUE，路径按需构建
+     */
+    public ShortestPathTree bfsTree(Node source) {
+        int src = csr.indexOf(source);
+        if (src < 0) {
             throw new IllegalArgumentException("Source node not in graph");
         }
 
         // Initialize data structures
-        Map<Node, Integer> distances = new HashMap<>();
-        Map<Node, Node> predecessors = new HashMap<>();
-        Queue<Node> queue = new LinkedList<>();
-        
-        // Initialize distances
-        for (Node node : graph.getNodes()) {
-            distances.put(node, Integer.MAX_VALUE);
-        }
-        distances.put(source, 0);
-        queue.add(source);
-        
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
-            int currentDist = distances.get(current);
-            
+        int n = csr.getNodeCount();
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        double[] distances = new double[n];
+        int[] predecessors = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(distances, Double.MAX_VALUE);
+        Arrays.fill(predecessors, -1);
+        int head = 0;
+        int tail = 0;
+
+        distances[src] = 0;
+        queue[tail++] = src;
+
+        while (head < tail) {
+            int current = queue[head++];
+            double nextDist = distances[current] + 1;
+
             // Explore neighbors
-            for (Edge edge : graph.getEdgesFromNode(current)) {
-                Node neighbor = edge.getDestination();
-                
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+
                 // If we haven't visited this neighbor yet
-                if (distances.get(neighbor) == Integer.MAX_VALUE) {
-                    distances.put(neighbor, currentDist + 1);
-                    predecessors.put(neighbor, current);
-                    queue.add(neighbor);
+                if (distances[neighbor] == Double.MAX_VALUE) {
+                    distances[neighbor] = nextDist;
+                    predecessors[neighbor] = current;
+                    queue[tail++] = neighbor;
                 }
             }
         }
-        
-        // Build results
-        Map<Node, PathResult> results = new HashMap<>();
-        for (Node node : graph.getNodes()) {
-            List<Node> path = buildPath(predecessors, source, node);
-            results.put(node, new PathResult(path, (double) distances.get(node)));
+
+        return new ShortestPathTree(csr, src, distances, predecessors);
+    }
+
+    /**
+     * 点对点最短路径：带权图使用双向Dijkstra，无权图使用双向BFS，两端搜索相遇即停止，只构建这一条路径
+     */
+    public PathResult shortestPath(Node source, Node target) {
+        return csr.isWeighted() ? bidirectionalDijkstra(source, target) : bidirectionalBfs(source, target);
+    }
+
+    /**
+     * 双向BFS（按跳数），每次扩展较小的一侧前沿的一整层
+     */
+    public PathResult bidirectionalBfs(Node source, Node target) {
+        int src = requireNode(source);
+        int dst = requireNode(target);
+        if (src == dst) {
+            return new PathResult(Collections.singletonList(csr.getNode(src)), 0.0);
+        }
+        SearchState fwd = resetState(true);
+        SearchState bwd = resetState(false);
+        fwd.reach(src, 0.0, -1);
+        bwd.reach(dst, 0.0, -1);
+
+        // 两侧前沿分别保存在各自触达列表的 [levelStart, touchedCount) 区间
+        int fwdLevelStart = 0;
+        int bwdLevelStart = 0;
+        int meet = -1;
+        double best = Double.MAX_VALUE;
+        while (meet < 0 && fwdLevelStart < fwd.touchedCount && bwdLevelStart < bwd.touchedCount) {
+            boolean expandForward = fwd.touchedCount - fwdLevelStart <= bwd.touchedCount - bwdLevelStart;
+            SearchState side = expandForward ? fwd : bwd;
+            SearchState other = expandForward ? bwd : fwd;
+            int[] offsets = expandForward ? csr.getOffsets() : csr.getInOffsets();
+            int[] targets = expandForward ? csr.getTargets() : csr.getInSources();
+            int levelStart = expandForward ? fwdLevelStart : bwdLevelStart;
+            int levelEnd = side.touchedCount;
+            for (int i = levelStart; i < levelEnd; i++) {
+                int current = side.touched[i];
+                double next = side.dist[current] + 1;
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int neighbor = targets[e];
+                    if (!side.reached(neighbor)) {
+                        side.reach(neighbor, next, current);
+                    }
+                    // 完成整层后取最优相遇点
+                    if (other.reached(neighbor) && side.dist[neighbor] + other.dist[neighbor] < best) {
+                        best = side.dist[neighbor] + other.dist[neighbor];
+                        meet = neighbor;
+                    }
+                }
+            }
+            if (expandForward) {
+                fwdLevelStart = levelEnd;
+            } else {
+                bwdLevelStart = levelEnd;
+            }
+        }
+        return meet < 0 ? unreachable() : joinPath(fwd, bwd, meet, best);
+    }
+
+    /**
+     * 双向Dijkstra：交替从两侧堆顶较小的一侧结算节点，两侧堆顶距离之和不小于当前最优相遇距离时停止
+     */
+    public PathResult bidirectionalDijkstra(Node source, Node target) {
+        int src = requireNode(source);
+        int dst = requireNode(target);
+        if (src == dst) {
+            return new PathResult(Collections.singletonList(csr.getNode(src)), 0.0);
+        }
+        SearchState fwd = resetState(true);
+        SearchState bwd = resetState(false);
+        IndexedHeap fwdQueue = fwd.heap();
+        IndexedHeap bwdQueue = bwd.heap();
+        fwd.reach(src, 0.0, -1);
+        bwd.reach(dst, 0.0, -1);
+        fwdQueue.insertOrDecrease(src, 0.0);
+        bwdQueue.insertOrDecrease(dst, 0.0);
+
+        int meet = -1;
+        double best = Double.MAX_VALUE;
+        while (!fwdQueue.isEmpty() && !bwdQueue.isEmpty()) {
+            if (fwdQueue.peekKey() + bwdQueue.peekKey() >= best) {
+                break;
+            }
+            boolean expandForward = fwdQueue.peekKey() <= bwdQueue.peekKey();
+            SearchState side = expandForward ? fwd : bwd;
+            SearchState other = expandForward ? bwd : fwd;
+            IndexedHeap queue = expandForward ? fwdQueue : bwdQueue;
+            int[] offsets = expandForward ? csr.getOffsets() : csr.getInOffsets();
+            int[] targets = expandForward ? csr.getTargets() : csr.getInSources();
+            double[] weights = expandForward ? csr.getWeights() : csr.getInWeights();
+
+            int current = queue.poll();
+            double currentDist = side.dist[current];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                double newDist = currentDist + weights[e];
+                if (!side.reached(neighbor) || newDist < side.dist[neighbor]) {
+                    side.reach(neighbor, newDist, current);
+                    queue.insertOrDecrease(neighbor, newDist);
+                }
+                if (other.reached(neighbor) && side.dist[neighbor] + other.dist[neighbor] < best) {
+                    best = side.dist[neighbor] + other.dist[neighbor];
+                    meet = neighbor;
+                }
+            }
+        }
+        return meet < 0 ? unreachable() : joinPath(fwd, bwd, meet, best);
+    }
+
+    /**
+     * 点对点Dijkstra：单向搜索，结算到目标节点即停止
+     */
+    public PathResult dijkstra(Node source, Node target) {
+        return goalDirected(requireNode(source), requireNode(target), null);
+    }
+
+    /**
+     * ALT（A* + 地标）点对点搜索：以地标三角不等式给出的下界作为启发函数，结果与Dijkstra相同但结算节点更少
+     *
+     * @param index 基于本实例的CSR快照构建的地标索引
+     */
+    public PathResult astar(Node source, Node target, LandmarkIndex index) {
+        if (index.getCsrGraph() != csr) {
+            throw new IllegalArgumentException("Landmark index was built for a different graph snapshot");
+        }
+        return goalDirected(requireNode(source), requireNode(target), index);
+    }
+
+    /**
+     * 上一次点对点 dijkstra/astar 查询结算（出堆）的节点数
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+
+    // 堆键为 g + h，index 为 null 时 h = 0 即普通Dijkstra；地标下界是一致的，节点通常只出堆一次
+    private PathResult goalDirected(int src, int dst, LandmarkIndex index) {
+        SearchState state = resetState(true);
+        IndexedHeap queue = state.heap();
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        double[] weights = csr.getWeights();
+        state.reach(src, 0.0, -1);
+        queue.insertOrDecrease(src, index == null ? 0.0 : index.lowerBound(src, dst));
+        settledCount = 0;
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settledCount++;
+            if (current == dst) {
+                // 搜索状态会被下一次查询复用，路径需立即构建
+                LinkedList<Node> path = new LinkedList<>();
+                for (int node = dst; node >= 0; node = state.pred[node]) {
+                    path.addFirst(csr.getNode(node));
+                }
+                return new PathResult(path, state.dist[dst]);
+            }
+            double currentDist = state.dist[current];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                double newDist = currentDist + weights[e];
+                if (!state.reached(neighbor) || newDist < state.dist[neighbor]) {
+                    state.reach(neighbor, newDist, current);
+                    double estimate = index == null ? 0.0 : index.lowerBound(neighbor, dst);
+                    queue.insertOrDecrease(neighbor, newDist + estimate);
+                }
+            }
+        }
+        return unreachable();
+    }
+
+    /**
+     * Yen算法：按距离升序返回至多 k 条无环路径。
+     * 每条偏离路径的子搜索复用点对点搜索状态，并以当前候选中第 k 短的距离为上界提前终止。
+     */
+    public List<PathResult> kShortestPaths(Node source, Node target, int k) {
+        int src = requireNode(source);
+        int dst = requireNode(target);
+        List<PathResult> results = new ArrayList<>();
+        if (k <= 0) {
+            return results;
+        }
+        int n = csr.getNodeCount();
+        boolean[] blockedNodes = new boolean[n];
+        boolean[] blockedNext = new boolean[n];
+        List<Candidate> accepted = new ArrayList<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        Set<Candidate> known = new HashSet<>();
+
+        Candidate first = spurPath(src, dst, new int[0], new double[0], 0.0, Double.MAX_VALUE,
+                blockedNodes, blockedNext);
+        if (first == null) {
+            return results;
+        }
+        candidates.add(first);
+        known.add(first);
+        while (!candidates.isEmpty() && accepted.size() < k) {
+            Candidate previous = candidates.poll();
+            accepted.add(previous);
+            int remaining = k - accepted.size();
+            if (remaining == 0) {
+                break;
+            }
+            // 已有足够候选时，比其中第 remaining 短的还长的偏离路径不可能进入结果
+            double bound = Double.MAX_VALUE;
+            if (candidates.size() >= remaining) {
+                double[] costs = new double[candidates.size()];
+                int c = 0;
+                for (Candidate candidate : candidates) {
+                    costs[c++] = candidate.cost();
+                }
+                Arrays.sort(costs);
+                bound = costs[remaining - 1];
+            }
+
+            int[] nodes = previous.nodes;
+            for (int i = 0; i < nodes.length - 1; i++) {
+                // 根路径 nodes[0..i] 上除偏离点外的节点不可再经过，已接受路径在该根路径后的下一条边不可再走
+                for (int j = 0; j < i; j++) {
+                    blockedNodes[nodes[j]] = true;
+                }
+                for (Candidate path : accepted) {
+                    if (path.nodes.length > i + 1 && path.sharesPrefix(nodes, i)) {
+                        blockedNext[path.nodes[i + 1]] = true;
+                    }
+                }
+                Candidate candidate = spurPath(nodes[i], dst, Arrays.copyOf(nodes, i),
+                        Arrays.copyOf(previous.prefix, i), previous.prefix[i], bound, blockedNodes, blockedNext);
+                for (int j = 0; j < i; j++) {
+                    blockedNodes[nodes[j]] = false;
+                }
+                for (Candidate path : accepted) {
+                    if (path.nodes.length > i + 1) {
+                        blockedNext[path.nodes[i + 1]] = false;
+                    }
+                }
+                if (candidate != null && known.add(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+
+        for (Candidate path : accepted) {
+            List<Node> nodes = new ArrayList<>(path.nodes.length);
+            for (int node : path.nodes) {
+                nodes.add(csr.getNode(node));
+            }
+            results.add(new PathResult(nodes, path.cost()));
         }
-        
         return results;
     }
 
-    private List<Node> buildPath(Map<Node, Node> predecessors, Node source, Node target) {
+    // 从偏离点 spur 到 dst 的受限Dijkstra，拼接在根路径 root（不含 spur，到 spur 的距离为 rootCost）之后；总距离达到 bound 时放弃
+    private Candidate spurPath(int spur, int dst, int[] root, double[] rootPrefix, double rootCost, double bound,
+            boolean[] blockedNodes, boolean[] blockedNext) {
+        SearchState state = resetState(true);
+        IndexedHeap queue = state.heap();
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        double[] weights = csr.getWeights();
+        state.reach(spur, 0.0, -1);
+        queue.insertOrDecrease(spur, 0.0);
+        boolean found = false;
+        while (!queue.isEmpty() && rootCost + queue.peekKey() < bound) {
+            int current = queue.poll();
+            if (current == dst) {
+                found = true;
+                break;
+            }
+            double currentDist = state.dist[current];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                if (blockedNodes[neighbor] || (current == spur && blockedNext[neighbor])) {
+                    continue;
+                }
+                double newDist = currentDist + weights[e];
+                if (!state.reached(neighbor) || newDist < state.dist[neighbor]) {
+                    state.reach(neighbor, newDist, current);
+                    queue.insertOrDecrease(neighbor, newDist);
+                }
+            }
+        }
+        if (!found) {
+            return null;
+        }
+
+        int spurLength = 0;
+        for (int node = dst; node >= 0; node = state.pred[node]) {
+            spurLength++;
+        }
+        int[] nodes = Arrays.copyOf(root, root.length + spurLength);
+        double[] prefix = Arrays.copyOf(rootPrefix, root.length + spurLength);
+        for (int node = dst, pos = nodes.length - 1; node >= 0; node = state.pred[node], pos--) {
+            nodes[pos] = node;
+            prefix[pos] = rootCost + state.dist[node];
+        }
+        return new Candidate(nodes, prefix);
+    }
+
+    private int requireNode(Node node) {
+        int id = csr.indexOf(node);
+        if (id < 0) {
+            throw new IllegalArgumentException("Node not in graph: " + node.getId());
+        }
+        return id;
+    }
+
+    private SearchState resetState(boolean isForward) {
+        SearchState state = isForward ? forward : backward;
+        if (state == null) {
+            state = new SearchState(csr.getNodeCount());
+            if (isForward) {
+                forward = state;
+            } else {
+                backward = state;
+            }
+        } else {
+            state.reset();
+        }
+        return state;
+    }
+
+    // 正向前驱链 src..meet 与反向后继链 meet..dst 拼接
+    private PathResult joinPath(SearchState fwd, SearchState bwd, int meet, double distance) {
         LinkedList<Node> path = new LinkedList<>();
-        if (predecessors.get(target) == null && !source.equals(target)) {
-            return Collections.emptyList(); // No path exists
+        for (int current = meet; current >= 0; current = fwd.pred[current]) {
+            path.addFirst(csr.getNode(current));
         }
-        
-        Node current = target;
-        while (current != null && !current.equals(source)) {
-            path.addFirst(current);
-            current = predecessors.get(current);
+        for (int current = bwd.pred[meet]; current >= 0; current = bwd.pred[current]) {
+            path.addLast(csr.getNode(current));
         }
-        path.addFirst(source);
-        
-        return path;
+        return new PathResult(path, distance);
+    }
+
+    private static PathResult unreachable() {
+        return new PathResult(Collections.emptyList(), Double.MAX_VALUE);
     }
 
     public static class PathResult {
-        private final List<Node> path;
+        private List<Node> path;
         private final double distance;
+        // 延迟构建路径所需的前驱数组
+        private final CsrGraph csr;
+        private final int[] predecessors;
+        private final int source;
+        private final int target;
 
         public PathResult(List<Node> path, double distance) {
             this.path = path;
             this.distance = distance;
+            this.csr = null;
+            this.predecessors = null;
+            this.source = -1;
+            this.target = -1;
+        }
+
+        // 只记录前驱数组，首次调用 getPath() 时才沿前驱链构建路径
+        PathResult(CsrGraph csr, int[] predecessors, int source, int target, double distance) {
+            this.distance = distance;
+            this.csr = csr;
+            this.predecessors = predecessors;
+            this.source = source;
+            this.target = target;
         }
 
         public List<Node> getPath() {
+            if (path == null) {
+                path = buildPath();
+            }
             return Collections.unmodifiableList(path);
         }
 
+        private List<Node> buildPath() {
+            if (predecessors[target] < 0 && source != target) {
+                return Collections.emptyList(); // No path exists
+            }
+            LinkedList<Node> result = new LinkedList<>();
+            for (int current = target; current >= 0; current = predecessors[current]) {
+                result.addFirst(csr.getNode(current));
+            }
+            return result;
+        }
+
         public double getDistance() {
             return distance;
         }
 
         public boolean hasPath() {
+            if (path == null) {
+                return source == target || predecessors[target] >= 0;
+            }
             return !path.isEmpty();
         }
     }
 
-    private static class NodeDistance {
-        private final Node node;
-        private final double distance;
+    /**
+     * 单源最短路径树：按CSR节点编号索引的距离与前驱数组，只在请求时构建具体路径
+     */
+    public static class ShortestPathTree {
+        private final CsrGraph csr;
+        private final int source;
+        private final double[] distances;
+        private final int[] predecessors;
 
-        public NodeDistance(Node node, double distance) {
-            this.node = node;
-            this.distance = distance;
+        ShortestPathTree(CsrGraph csr, int source, double[] distances, int[] predecessors) {
+            this.csr = csr;
+            this.source = source;
+            this.distances = distances;
+            this.predecessors = predecessors;
         }
 
-        public Node getNode() {
-            return node;
+        public Node getSource() {
+            return csr.getNode(source);
         }
 
-        public double getDistance() {
-            return distance;
+        /**
+         * 到目标节点的距离，不可达或不在图中时为 Double.MAX_VALUE
+         */
+        public double getDistance(Node target) {
+            int id = csr.indexOf(target);
+            return id < 0 ? Double.MAX_VALUE : distances[id];
+        }
+
+        public PathResult getPath(Node target) {
+            int id = csr.indexOf(target);
+            if (id < 0) {
+                return new PathResult(Collections.emptyList(), Double.MAX_VALUE);
+            }
+            return new PathResult(csr, predecessors, source, id, distances[id]);
+        }
+
+        /**
+         * 按CSR节点编号索引的距离数组（只读）
+         */
+        public double[] getDistances() {
+            return distances;
+        }
+
+        public Map<Node, PathResult> toResults() {
+            Map<Node, PathResult> results = new HashMap<>();
+            for (int i = 0; i < distances.length; i++) {
+                results.put(csr.getNode(i), new PathResult(csr, predecessors, source, i, distances[i]));
+            }
+            return results;
+        }
+    }
+
+    // Yen算法的候选路径：节点编号序列及到每个节点的累计距离，按距离、跳数排序，按节点序列判重
+    private static class Candidate implements Comparable<Candidate> {
+        private final int[] nodes;
+        private final double[] prefix;
+
+        Candidate(int[] nodes, double[] prefix) {
+            this.nodes = nodes;
+            this.prefix = prefix;
+        }
+
+        double cost() {
+            return prefix[prefix.length - 1];
+        }
+
+        // 与 other 的前 length + 1 个节点相同
+        boolean sharesPrefix(int[] other, int length) {
+            for (int i = 0; i <= length; i++) {
+                if (nodes[i] != other[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byCost = Double.compare(cost(), other.cost());
+            return byCost != 0 ? byCost : Integer.compare(nodes.length, other.nodes.length);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Candidate && Arrays.equals(nodes, ((Candidate) o).nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(nodes);
+        }
+    }
+
+    // 单侧搜索状态：稠密数组 + 触达列表，重置只清理上次触达的节点
+    private static class SearchState {
+        private final double[] dist;
+        private final int[] pred;
+        private final boolean[] visited;
+        private final int[] touched;
+        private int touchedCount;
+        private IndexedHeap heap;
+
+        SearchState(int n) {
+            this.dist = new double[n];
+            this.pred = new int[n];
+            this.visited = new boolean[n];
+            this.touched = new int[n];
+        }
+
+        boolean reached(int node) {
+            return visited[node];
+        }
+
+        void reach(int node, double distance, int predecessor) {
+            if (!visited[node]) {
+                visited[node] = true;
+                touched[touchedCount++] = node;
+            }
+            dist[node] = distance;
+            pred[node] = predecessor;
+        }
+
+        // Dijkstra 使用的堆，首次需要时创建，随状态一起复用
+        IndexedHeap heap() {
+            if (heap == null) {
+                heap = new IndexedHeap(dist.length);
+            }
+            return heap;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                visited[touched[i]] = false;
+            }
+            touchedCount = 0;
+            if (heap != null) {
+                heap.clear();
+            }
         }
     }
-}
\ No newline at end of file
+}
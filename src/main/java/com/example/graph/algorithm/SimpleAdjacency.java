@@ -0,0 +1,44 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * 把CSR快照视为无向简单图的邻接数组：有向图合并出边与入边，去除重边与自环，行内按编号有序
+ */
+final class SimpleAdjacency {
+    private SimpleAdjacency() {
+    }
+
+    static int[][] of(CsrGraph csr) {
+        int n = csr.getNodeCount();
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        int[] inOffsets = csr.getInOffsets();
+        int[] inSources = csr.getInSources();
+        boolean directed = csr.isDirected();
+        int[][] neighbors = new int[n][];
+        for (int v = 0; v < n; v++) {
+            int i = offsets[v];
+            int iEnd = offsets[v + 1];
+            int j = directed ? inOffsets[v] : 0;
+            int jEnd = directed ? inOffsets[v + 1] : 0;
+            int[] merged = new int[(iEnd - i) + (jEnd - j)];
+            int size = 0;
+            while (i < iEnd || j < jEnd) {
+                int next;
+                if (j >= jEnd || (i < iEnd && targets[i] <= inSources[j])) {
+                    next = targets[i++];
+                } else {
+                    next = inSources[j++];
+                }
+                if (next != v && (size == 0 || merged[size - 1] != next)) {
+                    merged[size++] = next;
+                }
+            }
+            neighbors[v] = size == merged.length ? merged : Arrays.copyOf(merged, size);
+        }
+        return neighbors;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.graph.algorithm;
+
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 三角形计数与局部聚类系数（按无向简单图处理：忽略方向、重边与自环）
+ * 每条边按 (度数, 编号) 从低到高定向，每个三角形只在其最低端点处被发现一次；
+ * 有向邻居数组行内有序，两端的邻居数组归并求交。节点按块动态分配给工作线程，各线程累加到自己的计数数组。
+ */
+public class TriangleCount {
+    // 每次领取的节点数；高度数节点的工作量大，小块动态领取以均衡负载
+    private static final int NODE_BLOCK = 64;
+
+    private final CsrGraph csr;
+    private long[] triangles;
+    private int[] degrees;
+    private long totalTriangles;
+
+    public TriangleCount(Graph graph) {
+        this(CsrGraph.from(graph));
+    }
+
+    public TriangleCount(CsrGraph csr) {
+        this.csr = csr;
+    }
+
+    /**
+     * @param parallelism 并行度，小于等于0时使用公共池
+     */
+    public void compute(int parallelism) {
+        int n = csr.getNodeCount();
+        int[][] neighbors = SimpleAdjacency.of(csr);
+        degrees = new int[n];
+        for (int v = 0; v < n; v++) {
+            degrees[v] = neighbors[v].length;
+        }
+        int[][] oriented = orient(neighbors);
+
+        triangles = new long[n];
+        totalTriangles = 0;
+        if (n == 0) {
+            return;
+        }
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        AtomicInteger nextNode = new AtomicInteger();
+        try {
+            List<ForkJoinTask<long[]>> workers = new ArrayList<>();
+            for (int w = 0; w < pool.getParallelism(); w++) {
+                workers.add(pool.submit(() -> {
+                    long[] local = new long[n];
+                    int from;
+                    while ((from = nextNode.getAndAdd(NODE_BLOCK)) < n) {
+                        int to = Math.min(n, from + NODE_BLOCK);
+                        for (int u = from; u < to; u++) {
+                            countFrom(u, oriented, local);
+                        }
+                    }
+                    return local;
+                }));
+            }
+            for (ForkJoinTask<long[]> worker : workers) {
+                long[] local = worker.join();
+                for (int v = 0; v < n; v++) {
+                    triangles[v] += local[v];
+                }
+            }
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+        long sum = 0;
+        for (long count : triangles) {
+            sum += count;
+        }
+        totalTriangles = sum / 3;
+    }
+
+    // 对 u 的每条定向边 (u, v)，归并 oriented[u] 与 oriented[v]，每个公共节点 w 构成三角形 (u, v, w)
+    private static void countFrom(int u, int[][] oriented, long[] counts) {
+        int[] nu = oriented[u];
+        for (int v : nu) {
+            int[] nv = oriented[v];
+            int i = 0;
+            int j = 0;
+            while (i < nu.length && j < nv.length) {
+                if (nu[i] < nv[j]) {
+                    i++;
+                } else if (nu[i] > nv[j]) {
+                    j++;
+                } else {
+                    counts[u]++;
+                    counts[v]++;
+                    counts[nu[i]]++;
+                    i++;
+                    j++;
+                }
+            }
+        }
+    }
+
+    // 只保留指向 (度数, 编号) 更高一端的邻居，高度数节点的出度因此被限制在 O(sqrt(m))
+    private static int[][] orient(int[][] neighbors) {
+        int[][] oriented = new int[neighbors.length][];
+        for (int u = 0; u < neighbors.length; u++) {
+            int[] row = neighbors[u];
+            int[] kept = new int[row.length];
+            int size = 0;
+            for (int v : row) {
+                if (neighbors[v].length > row.length || (neighbors[v].length == row.length && v > u)) {
+                    kept[size++] = v;
+                }
+            }
+            oriented[u] = Arrays.copyOf(kept, size);
+        }
+        return oriented;
+    }
+
+    /**
+     * 按CSR节点编号索引的三角形数
+     */
+    public long[] getTriangleCounts() {
+        return triangles;
+    }
+
+    public long getTotalTriangles() {
+        return totalTriangles;
+    }
+
+    /**
+     * 局部聚类系数 2T(v) / (d(v)(d(v)-1))，度数小于2的节点为0
+     */
+    public double[] getClusteringCoefficients() {
+        double[] coefficients = new double[triangles.length];
+        for (int v = 0; v < coefficients.length; v++) {
+            coefficients[v] = clustering(v);
+        }
+        return coefficients;
+    }
+
+    public double getClusteringCoefficient(Node node) {
+        int id = csr.indexOf(node);
+        return id < 0 ? 0.0 : clustering(id);
+    }
+
+    private double clustering(int v) {
+        long d = degrees[v];
+        return d < 2 ? 0.0 : 2.0 * triangles[v] / (d * (d - 1));
+    }
+
+    /**
+     * 所有节点局部聚类系数的平均值
+     */
+    public double getAverageClusteringCoefficient() {
+        if (triangles.length == 0) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (double coefficient : getClusteringCoefficients()) {
+            sum += coefficient;
+        }
+        return sum / triangles.length;
+    }
+
+    /**
+     * 全局聚类系数（传递性）：3 × 三角形数 / 连通三元组数
+     */
+    public double getTransitivity() {
+        double triples = 0.0;
+        for (int d : degrees) {
+            triples += (double) d * (d - 1) / 2;
+        }
+        return triples == 0 ? 0.0 : 3.0 * totalTriangles / triples;
+    }
+
+    /**
+     * 节点在无向简单图中的度数
+     */
+    public int[] getDegrees() {
+        return degrees;
+    }
+
+    public CsrGraph getCsrGraph() {
+        return csr;
+    }
+}
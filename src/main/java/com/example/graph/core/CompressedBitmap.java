@@ -0,0 +1,261 @@
+package com.example.graph.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 不可变的压缩位图（Roaring 风格）：非负 int 按高16位分块，每块按基数选择容器——
+ * 不超过 4096 个元素时存有序的低16位数组，否则存 1024 个 long 的定长位图。
+ * 稀疏集合只占约 2 字节/元素，稠密集合不超过 8KB/块；求交按容器类型选择归并、探查或逐字按位与。
+ */
+public final class CompressedBitmap {
+    // 数组容器的最大元素数，超过后位图容器更省空间
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private static final CompressedBitmap EMPTY = new CompressedBitmap(new char[0], new Object[0], 0);
+
+    private final char[] keys;
+    // char[]（有序低16位）或 long[]（65536 位）
+    private final Object[] containers;
+    private final int cardinality;
+
+    private CompressedBitmap(char[] keys, Object[] containers, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    public static CompressedBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param sortedValues 严格升序的非负整数
+     */
+    public static CompressedBitmap of(int[] sortedValues) {
+        int blocks = 0;
+        for (int i = 0; i < sortedValues.length; i++) {
+            if (sortedValues[i] < 0) {
+                throw new IllegalArgumentException("位图只支持非负整数: " + sortedValues[i]);
+            }
+            if (i == 0 || (sortedValues[i] >>> 16) != (sortedValues[i - 1] >>> 16)) {
+                blocks++;
+            }
+        }
+        char[] keys = new char[blocks];
+        Object[] containers = new Object[blocks];
+        int block = 0;
+        int start = 0;
+        while (start < sortedValues.length) {
+            int high = sortedValues[start] >>> 16;
+            int end = start;
+            while (end < sortedValues.length && (sortedValues[end] >>> 16) == high) {
+                end++;
+            }
+            keys[block] = (char) high;
+            if (end - start <= ARRAY_MAX) {
+                char[] lows = new char[end - start];
+                for (int i = start; i < end; i++) {
+                    lows[i - start] = (char) sortedValues[i];
+                }
+                containers[block] = lows;
+            } else {
+                long[] words = new long[BITMAP_WORDS];
+                for (int i = start; i < end; i++) {
+                    int low = sortedValues[i] & 0xFFFF;
+                    words[low >>> 6] |= 1L << low;
+                }
+                containers[block] = words;
+            }
+            block++;
+            start = end;
+        }
+        return new CompressedBitmap(keys, containers, sortedValues.length);
+    }
+
+    public int getCardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int block = Arrays.binarySearch(keys, (char) (value >>> 16));
+        if (block < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[block];
+        if (container instanceof char[]) {
+            return Arrays.binarySearch((char[]) container, low) >= 0;
+        }
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    /**
+     * 升序列出所有元素
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int size = 0;
+        for (int block = 0; block < keys.length; block++) {
+            int high = keys[block] << 16;
+            Object container = containers[block];
+            if (container instanceof char[]) {
+                for (char low : (char[]) container) {
+                    values[size++] = high | low;
+                }
+            } else {
+                long[] words = (long[]) container;
+                for (int w = 0; w < words.length; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        values[size++] = high | ((w << 6) + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 估算占用的字节数（只计容器数据）
+     */
+    public long getSizeInBytes() {
+        long bytes = keys.length * 2L;
+        for (Object container : containers) {
+            bytes += container instanceof char[] ? ((char[]) container).length * 2L : BITMAP_WORDS * 8L;
+        }
+        return bytes;
+    }
+
+    public CompressedBitmap and(CompressedBitmap other) {
+        char[] resultKeys = new char[Math.min(keys.length, other.keys.length)];
+        Object[] resultContainers = new Object[resultKeys.length];
+        int size = 0;
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Object container = and(containers[i], other.containers[j]);
+                int count = count(container);
+                if (count > 0) {
+                    resultKeys[size] = keys[i];
+                    resultContainers[size] = container;
+                    size++;
+                    total += count;
+                }
+                i++;
+                j++;
+            }
+        }
+        if (total == 0) {
+            return EMPTY;
+        }
+        return new CompressedBitmap(Arrays.copyOf(resultKeys, size), Arrays.copyOf(resultContainers, size), total);
+    }
+
+    /**
+     * 多个位图求交：从基数最小的开始，中间结果为空时立即返回
+     */
+    public static CompressedBitmap and(List<CompressedBitmap> bitmaps) {
+        if (bitmaps.isEmpty()) {
+            return EMPTY;
+        }
+        CompressedBitmap[] ordered = bitmaps.toArray(new CompressedBitmap[0]);
+        Arrays.sort(ordered, Comparator.comparingInt(CompressedBitmap::getCardinality));
+        CompressedBitmap result = ordered[0];
+        for (int i = 1; i < ordered.length && !result.isEmpty(); i++) {
+            result = result.and(ordered[i]);
+        }
+        return result;
+    }
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[]) {
+            return andArrays((char[]) a, (char[]) b);
+        }
+        if (a instanceof char[]) {
+            return andArrayBitmap((char[]) a, (long[]) b);
+        }
+        if (b instanceof char[]) {
+            return andArrayBitmap((char[]) b, (long[]) a);
+        }
+        long[] x = (long[]) a;
+        long[] y = (long[]) b;
+        long[] words = new long[BITMAP_WORDS];
+        int count = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            words[w] = x[w] & y[w];
+            count += Long.bitCount(words[w]);
+        }
+        if (count > ARRAY_MAX) {
+            return words;
+        }
+        // 结果变稀疏时退回数组容器
+        char[] lows = new char[count];
+        int size = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                lows[size++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return lows;
+    }
+
+    private static char[] andArrays(char[] a, char[] b) {
+        char[] out = new char[Math.min(a.length, b.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+    private static char[] andArrayBitmap(char[] lows, long[] words) {
+        char[] out = new char[lows.length];
+        int size = 0;
+        for (char low : lows) {
+            if ((words[low >>> 6] & (1L << low)) != 0) {
+                out[size++] = low;
+            }
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+    private static int count(Object container) {
+        if (container instanceof char[]) {
+            return ((char[]) container).length;
+        }
+        int count = 0;
+        for (long word : (long[]) container) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.graph.core;
+
+import java.util.*;
+
+/**
+ * Graph 的不可变 CSR（压缩稀疏行）快照，供算法执行使用。
+ * 节点使用稠密 int 编号 [0, n)，第 i 个节点的出边位于 targets/weights 的 [offsets[i], offsets[i+1]) 区间，
+ * 每行按目标编号升序排列。数组由快照持有，调用方只读使用，不得修改。
+ */
+public class CsrGraph {
+    private final Node[] nodes;
+    private final Map<Node, Integer> index;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final boolean directed;
+    private final boolean weighted;
+    private final double totalWeight;
+
+    // 反向（入边）CSR，无向图直接复用正向数组
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final double[] inWeights;
+
+    public CsrGraph(Node[] nodes, int[] offsets, int[] targets, double[] weights,
+            boolean directed, boolean weighted) {
+        this(nodes, offsets, targets, weights, directed, weighted, null, null, null);
+    }
+
+    // 入边数组为空时由正向数组转置得到
+    private CsrGraph(Node[] nodes, int[] offsets, int[] targets, double[] weights,
+            boolean directed, boolean weighted, int[] inOffsets, int[] inSources, double[] inWeights) {
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.directed = directed;
+        this.weighted = weighted;
+        this.index = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            index.put(nodes[i], i);
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            sortRow(targets, weights, offsets[i], offsets[i + 1]);
+        }
+        double sum = 0.0;
+        for (double w : weights) {
+            sum += w;
+        }
+        this.totalWeight = sum;
+
+        if (directed && inOffsets != null) {
+            for (int i = 0; i < nodes.length; i++) {
+                sortRow(inSources, inWeights, inOffsets[i], inOffsets[i + 1]);
+            }
+            this.inOffsets = inOffsets;
+            this.inSources = inSources;
+            this.inWeights = inWeights;
+        } else if (directed) {
+            int n = nodes.length;
+            int[] reverseOffsets = new int[n + 1];
+            int[] reverseSources = new int[targets.length];
+            double[] reverseWeights = new double[targets.length];
+            for (int t : targets) {
+                reverseOffsets[t + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                reverseOffsets[i + 1] += reverseOffsets[i];
+            }
+            int[] cursor = Arrays.copyOf(reverseOffsets, n);
+            // 按源编号升序写入，行内天然有序
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int pos = cursor[targets[e]]++;
+                    reverseSources[pos] = u;
+                    reverseWeights[pos] = weights[e];
+                }
+            }
+            this.inOffsets = reverseOffsets;
+            this.inSources = reverseSources;
+            this.inWeights = reverseWeights;
+        } else {
+            this.inOffsets = offsets;
+            this.inSources = targets;
+            this.inWeights = weights;
+        }
+    }
+
+    /**
+     * 从 Graph 构建一次性快照
+     */
+    public static CsrGraph from(Graph graph) {
+        Collection<Node> graphNodes = graph.getNodes();
+        NodeDictionary dictionary = graph.getDictionary();
+        Node[] nodes;
+        if (dictionary != null && dictionary.size() == graphNodes.size()) {
+            // 图覆盖整个字典时沿用字典编号，算法结果可直接按字典编号映射回名称
+            nodes = new Node[dictionary.size()];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = dictionary.getNode(i);
+            }
+        } else {
+            nodes = graphNodes.toArray(new Node[0]);
+        }
+        Map<Node, Integer> ids = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            ids.put(nodes[i], i);
+        }
+
+        int[] offsets = new int[nodes.length + 1];
+        int arcs = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            for (Edge edge : graph.getEdgesFromNode(nodes[i])) {
+                if (ids.containsKey(edge.getDestination())) {
+                    arcs++;
+                }
+            }
+            offsets[i + 1] = arcs;
+        }
+
+        int[] targets = new int[arcs];
+        double[] weights = new double[arcs];
+        int pos = 0;
+        for (Node node : nodes) {
+            for (Edge edge : graph.getEdgesFromNode(node)) {
+                Integer dst = ids.get(edge.getDestination());
+                if (dst != null) {
+                    targets[pos] = dst;
+                    weights[pos] = edge.getWeight();
+                    pos++;
+                }
+            }
+        }
+        if (!graph.isDirected()) {
+            return new CsrGraph(nodes, offsets, targets, weights, false, graph.isWeighted());
+        }
+
+        // 有向图直接读取 Graph 的入边索引构建反向数组
+        int[] inOffsets = new int[nodes.length + 1];
+        for (int i = 0; i < nodes.length; i++) {
+            int count = 0;
+            for (Edge edge : graph.getIncomingEdges(nodes[i])) {
+                if (ids.containsKey(edge.getSource())) {
+                    count++;
+                }
+            }
+            inOffsets[i + 1] = inOffsets[i] + count;
+        }
+        int[] inSources = new int[inOffsets[nodes.length]];
+        double[] inWeights = new double[inSources.length];
+        pos = 0;
+        for (Node node : nodes) {
+            for (Edge edge : graph.getIncomingEdges(node)) {
+                Integer src = ids.get(edge.getSource());
+                if (src != null) {
+                    inSources[pos] = src;
+                    inWeights[pos] = edge.getWeight();
+                    pos++;
+                }
+            }
+        }
+        return new CsrGraph(nodes, offsets, targets, weights, true, graph.isWeighted(),
+                inOffsets, inSources, inWeights);
+    }
+
+    // 行内按目标编号排序，权重随之移动；短行插入排序，长行（高度数明星）打包成 long 排序
+    private static void sortRow(int[] targets, double[] weights, int from, int to) {
+        int len = to - from;
+        if (len > 32) {
+            long[] keys = new long[len];
+            for (int i = 0; i < len; i++) {
+                keys[i] = ((long) targets[from + i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            double[] w = Arrays.copyOfRange(weights, from, to);
+            for (int i = 0; i < len; i++) {
+                targets[from + i] = (int) (keys[i] >>> 32);
+                weights[from + i] = w[(int) keys[i]];
+            }
+            return;
+        }
+        for (int i = from + 1; i < to; i++) {
+            int t = targets[i];
+            double w = weights[i];
+            int j = i - 1;
+            while (j >= from && targets[j] > t) {
+                targets[j + 1] = targets[j];
+                weights[j + 1] = weights[j];
+                j--;
+            }
+            targets[j + 1] = t;
+            weights[j + 1] = w;
+        }
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    public int getArcCount() {
+        return targets.length;
+    }
+
+    public Node getNode(int id) {
+        return nodes[id];
+    }
+
+    public String getName(int id) {
+        return nodes[id].getId();
+    }
+
+    public int indexOf(Node node) {
+        Integer id = index.get(node);
+        return id == null ? -1 : id;
+    }
+
+    public int getDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    public int getInDegree(int id) {
+        return inOffsets[id + 1] - inOffsets[id];
+    }
+
+    public double getWeightedDegree(int id) {
+        double sum = 0.0;
+        for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+            sum += weights[e];
+        }
+        return sum;
+    }
+
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public double[] getWeights() {
+        return weights;
+    }
+
+    public int[] getInOffsets() {
+        return inOffsets;
+    }
+
+    public int[] getInSources() {
+        return inSources;
+    }
+
+    public double[] getInWeights() {
+        return inWeights;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public boolean isWeighted() {
+        return weighted;
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.graph.core;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class Graph {
     private final Map<Node, List<Edge>> adjacencyList = new HashMap<>();
+    private final Map<Node, List<Edge>> incomingList = new HashMap<>();
     private final boolean directed;
     private final boolean weighted;
+    private final NodeDictionary dictionary;
 
 
     public Graph() {
@@ -14,12 +16,19 @@ public class Graph {
     }
 
     public Graph(boolean directed, boolean weighted) {
+        this(directed, weighted, new NodeDictionary());
+    }
+
+    public Graph(boolean directed, boolean weighted, NodeDictionary dictionary) {
         this.directed = directed;
         this.weighted = weighted;
+        this.dictionary = dictionary;
     }
 
     public void addNode(Node node) {
-        adjacencyList.putIfAbsent(node, new ArrayList<>());
+        Node canonical = dictionary.intern(node);
+        adjacencyList.putIfAbsent(canonical, new ArrayList<>());
+        incomingList.putIfAbsent(canonical, new ArrayList<>());
     }
 
     public void addEdge(Node source, Node destination) {
@@ -27,14 +36,20 @@ public class Graph {
     }
 
     public void addEdge(Node source, Node destination, double weight) {
+        source = dictionary.intern(source);
+        destination = dictionary.intern(destination);
         if (!adjacencyList.containsKey(source)) addNode(source);
         if (!adjacencyList.containsKey(destination)) addNode(destination);
 
         double finalWeight = weighted ? weight : 1.0;
-        adjacencyList.get(source).add(new Edge(source, destination, finalWeight));
+        Edge edge = new Edge(source, destination, finalWeight);
+        adjacencyList.get(source).add(edge);
+        incomingList.get(destination).add(edge);
 
         if (!directed) {
-            adjacencyList.get(destination).add(new Edge(destination, source, finalWeight));
+            Edge reverse = new Edge(destination, source, finalWeight);
+            adjacencyList.get(destination).add(reverse);
+            incomingList.get(source).add(reverse);
         }
     }
 
@@ -42,34 +57,112 @@ public class Graph {
         return new ArrayList<>(adjacencyList.keySet());
     }
 
+    /**
+     * 节点集合的只读实时视图，不复制
+     */
+    public Set<Node> nodeView() {
+        return Collections.unmodifiableSet(adjacencyList.keySet());
+    }
 
+    public int getNodeCount() {
+        return adjacencyList.size();
+    }
 
     public Collection<Edge> getEdges() {
-        List<Edge> edges = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>(getEdgeCount());
         for (List<Edge> edgeList : adjacencyList.values()) {
             edges.addAll(edgeList);
         }
         return edges;
     }
 
+    /**
+     * 邻接表中的边数（无向图每条边按两个方向计）
+     */
+    public int getEdgeCount() {
+        int count = 0;
+        for (List<Edge> edgeList : adjacencyList.values()) {
+            count += edgeList.size();
+        }
+        return count;
+    }
+
     public Collection<Edge> getEdgesFromNode(Node node) {
         return adjacencyList.getOrDefault(node, Collections.emptyList());
     }
 
+    /**
+     * 节点出边的只读实时视图，不复制
+     */
+    public List<Edge> edgeView(Node node) {
+        List<Edge> edges = adjacencyList.get(node);
+        return edges == null ? Collections.emptyList() : Collections.unmodifiableList(edges);
+    }
+
     public Collection<Node> getNeighbors(Node node) {
-        return getEdgesFromNode(node).stream()
-                .map(Edge::getDestination)
-                .collect(Collectors.toList());
+        Collection<Edge> edges = getEdgesFromNode(node);
+        List<Node> neighbors = new ArrayList<>(edges.size());
+        for (Edge edge : edges) {
+            neighbors.add(edge.getDestination());
+        }
+        return neighbors;
+    }
+
+    public void forEachNode(Consumer<Node> action) {
+        for (Node node : adjacencyList.keySet()) {
+            action.accept(node);
+        }
+    }
+
+    /**
+     * 遍历节点的所有出边邻居及权重，不创建中间集合
+     */
+    public void forEachNeighbor(Node node, NeighborVisitor visitor) {
+        List<Edge> edges = adjacencyList.get(node);
+        if (edges == null) {
+            return;
+        }
+        for (int i = 0, size = edges.size(); i < size; i++) {
+            Edge edge = edges.get(i);
+            visitor.visit(edge.getDestination(), edge.getWeight());
+        }
+    }
+
+    public void forEachIncoming(Node node, NeighborVisitor visitor) {
+        List<Edge> edges = incomingList.get(node);
+        if (edges == null) {
+            return;
+        }
+        for (int i = 0, size = edges.size(); i < size; i++) {
+            Edge edge = edges.get(i);
+            visitor.visit(edge.getSource(), edge.getWeight());
+        }
     }
 
     public int getDegree(Node node) {
         return getEdgesFromNode(node).size();
     }
 
+    public Collection<Edge> getIncomingEdges(Node node) {
+        return incomingList.getOrDefault(node, Collections.emptyList());
+    }
+
+    public int getInDegree(Node node) {
+        return getIncomingEdges(node).size();
+    }
+
     public boolean containsNode(Node node) {
         return adjacencyList.containsKey(node);
     }
 
+    public NodeDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public int indexOf(Node node) {
+        return dictionary.getId(node);
+    }
+
     public boolean isDirected() {
         return directed;
     }
@@ -79,24 +172,45 @@ public class Graph {
     }
 
     public Graph createSubgraph(Set<Node> nodes) {
-        Graph subgraph = new Graph(directed, weighted);
+        Graph subgraph = new Graph(directed, weighted, dictionary);
         for (Node node : nodes) {
             subgraph.addNode(node);
+            // 无向图的每条边在两端的邻接表中各存一份（自环在同一表中存两份），addEdge 会重新补上反向边，只取一份
+            boolean skipLoop = false;
             for (Edge edge : getEdgesFromNode(node)) {
-                if (nodes.contains(edge.getDestination())) {
-                    subgraph.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+                Node destination = edge.getDestination();
+                if (!nodes.contains(destination)) {
+                    continue;
+                }
+                if (!directed) {
+                    if (destination.equals(node)) {
+                        skipLoop = !skipLoop;
+                        if (!skipLoop) {
+                            continue;
+                        }
+                    } else if (dictionary.getId(node) > dictionary.getId(destination)) {
+                        continue;
+                    }
                 }
+                subgraph.addEdge(edge.getSource(), destination, edge.getWeight());
             }
         }
         return subgraph;
     }
 
     public double getTotalEdgeWeight() {
-        return adjacencyList.values().stream()
-                .flatMap(List::stream)
-                .mapToDouble(Edge::getWeight)
-                .sum();
+        double total = 0.0;
+        for (List<Edge> edgeList : adjacencyList.values()) {
+            for (int i = 0, size = edgeList.size(); i < size; i++) {
+                total += edgeList.get(i).getWeight();
+            }
+        }
+        return total;
     }
 
+    @FunctionalInterface
+    public interface NeighborVisitor {
+        void visit(Node neighbor, double weight);
+    }
 
 }
\ No newline at end of file
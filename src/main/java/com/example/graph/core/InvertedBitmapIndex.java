@@ -0,0 +1,70 @@
+package com.example.graph.core;
+
+import java.util.*;
+
+/**
+ * 倒排位图索引：键（如明星名称）映射到其关联条目（如作品）的压缩位图，条目以字典编号存储。
+ * 多个键的共同条目通过位图求交得到，结果只在返回时映射回名称。
+ */
+public class InvertedBitmapIndex {
+    private final Map<String, CompressedBitmap> postings;
+    private final NodeDictionary items;
+
+    /**
+     * @param sortedPostings 每个键对应的升序、无重复条目编号，编号来自 items
+     * @param items          条目字典
+     */
+    public InvertedBitmapIndex(Map<String, int[]> sortedPostings, NodeDictionary items) {
+        this.postings = new HashMap<>(sortedPostings.size() * 2);
+        for (Map.Entry<String, int[]> entry : sortedPostings.entrySet()) {
+            postings.put(entry.getKey(), CompressedBitmap.of(entry.getValue()));
+        }
+        this.items = items;
+    }
+
+    public boolean containsKey(String key) {
+        return postings.containsKey(key);
+    }
+
+    /**
+     * 键关联的条目位图，键不存在时为空位图
+     */
+    public CompressedBitmap get(String key) {
+        return postings.getOrDefault(key, CompressedBitmap.empty());
+    }
+
+    /**
+     * 所有键共同关联的条目名称，按名称排序
+     */
+    public List<String> intersect(Collection<String> keys) {
+        List<CompressedBitmap> bitmaps = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            bitmaps.add(get(key));
+        }
+        List<String> names = new ArrayList<>();
+        for (int id : CompressedBitmap.and(bitmaps).toArray()) {
+            names.add(items.getName(id));
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    public int getKeyCount() {
+        return postings.size();
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    /**
+     * 所有位图估算占用的字节数
+     */
+    public long getSizeInBytes() {
+        long bytes = 0;
+        for (CompressedBitmap bitmap : postings.values()) {
+            bytes += bitmap.getSizeInBytes();
+        }
+        return bytes;
+    }
+}
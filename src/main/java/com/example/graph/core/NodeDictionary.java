@@ -0,0 +1,72 @@
+package com.example.graph.core;
+
+import java.util.*;
+
+/**
+ * 节点字典：将节点名称（name 属性）映射为稠密 int 编号，并持有每个名称唯一的 Node 实例。
+ * 解析器、Graph 与算法结果共用同一个字典，结果只在序列化时才映射回名称。
+ */
+public class NodeDictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<Node> nodes = new ArrayList<>();
+
+    /**
+     * 返回名称对应的编号，不存在则分配新编号
+     */
+    public int intern(String name) {
+        return getId(internNode(name));
+    }
+
+    /**
+     * 返回名称对应的唯一 Node 实例，不存在则创建
+     */
+    public Node internNode(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return nodes.get(id);
+        }
+        return register(new Node(name));
+    }
+
+    /**
+     * 返回与给定节点同名的唯一实例；首次出现时登记传入的实例本身（保留其属性）
+     */
+    public Node intern(Node node) {
+        Integer id = ids.get(node.getId());
+        if (id != null) {
+            return nodes.get(id);
+        }
+        return register(node);
+    }
+
+    private Node register(Node node) {
+        ids.put(node.getId(), nodes.size());
+        nodes.add(node);
+        return node;
+    }
+
+    public int getId(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public int getId(Node node) {
+        return getId(node.getId());
+    }
+
+    public Node getNode(int id) {
+        return nodes.get(id);
+    }
+
+    public String getName(int id) {
+        return nodes.get(id).getId();
+    }
+
+    public boolean contains(String name) {
+        return ids.containsKey(name);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+}
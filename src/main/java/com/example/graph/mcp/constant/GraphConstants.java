@@ -26,14 +26,9 @@ public class GraphConstants {
                         ".repeat(both('%s').simplePath().where(without('visited')).aggregate('visited'))" +
                         ".until(has('%s', 'name', '${targetName}').or().loops().is(%d)).dedup().path()";
 
-        public static final String MUTUAL_FRIEND_QUERY = "g.V().has('%s', 'name', ${name0}).as('a')" +
-                        ".both('%s').as('commonFriend')" +
-                        ".where(__.both('%s').has('%s', 'name', ${name0}))" +
-                        ".select('commonFriend').dedup().path()";
-
         public static final String DREAM_TEAM_QUERY = "g.V().has('%s', 'name', within([${names}])).aggregate('stars')" +
                         ".V().hasLabel('%s')" +
-                        ".where(__.in('%s', '%s').where(within('stars')).count().is(%d)).dedup().path()";
+                        ".where(__.in('%s', '%s').where(within('stars')).dedup().count().is(%d)).dedup().valueMap('name')";
 
         public static final String SIMILARITY_QUERY = "g.V().has('%s', 'name', within([${names}])).as('o')" +
                         ".bothE().has('e_type', '${relationshipType}').otherV().aggregate('x')" +
@@ -51,25 +46,27 @@ public class GraphConstants {
                         ".as('e').otherV().as('other')" +
                         ".select('e','other').by(valueMap()).by(valueMap('name'))";
 
+        // 一次批量查询多人的搭档名称，只返回名称，供本地求共同好友
+        public static final String NEIGHBOR_NAMES_QUERY = "g.V().has('%s', 'name', within([${names}])).as('center')" +
+                        ".both('%s').as('partner')" +
+                        ".select('center','partner').by(valueMap('name')).by(valueMap('name'))";
+
         public static final String NODES_EDGES_BY_NAMES_QUERY = "g.V().has('celebrity', 'name', within([${names}])).bothE('celebrity_celebrity')";
 
-        // 共同祖先查询模板
-        public static final String COMMON_ANCESTOR_TWO_PERSON_QUERY = "g.V().has('%s', 'name', '${person1}')" +
-                        ".repeat(__.in('%s').simplePath()).emit().times(%d)" +
-                        ".id().fold().as('ancestors1')" +
-                        ".V().has('%s', 'name', '${person2}')" +
-                        ".repeat(__.in('%s').simplePath()).emit().times(%d)" +
-                        ".where(__.id().is(within('ancestors1')))" +
-                        ".dedup().elementMap()";
+        // 一次批量查询多人的直接上级（入边另一端）名称，按层扩展祖先子图
+        public static final String PARENT_NAMES_QUERY = "g.V().has('%s', 'name', within([${names}])).as('center')" +
+                        ".in('%s').as('partner')" +
+                        ".select('center','partner').by(valueMap('name')).by(valueMap('name'))";
 
-        public static final String COMMON_ANCESTOR_MULTI_PERSON_QUERY_PREFIX = "g.V().has('%s', 'name', '${person%d}')"
-                        +
-                        ".repeat(__.in('%s').simplePath()).emit().times(%d)" +
-                        ".id().fold().as('ancestors%d')";
+        // 批量导出全部搭档关系边（边 outV 指向 inV），供本地共同祖先引擎建图
+        public static final String ANCESTOR_EDGES_EXPORT_QUERY = "g.E().hasLabel('%s')" +
+                        ".as('e').inV().as('other')" +
+                        ".select('e','other').by(valueMap()).by(valueMap('name'))";
 
-        public static final String COMMON_ANCESTOR_MULTI_PERSON_QUERY_SUFFIX = ".V().where(__.id().is(within('ancestors0')))%s"
-                        +
-                        ".dedup().elementMap()";
+        // 批量导出明星与其参与作品的名称对（明星为 center，作品为 partner），供本地倒排位图索引
+        public static final String WORK_INDEX_EXPORT_QUERY = "g.V().hasLabel('%s').as('partner')" +
+                        ".in('%s', '%s').hasLabel('%s').as('center')" +
+                        ".select('center','partner').by(valueMap('name')).by(valueMap('name'))";
 
         // 默认查询深度
         public static final int DEFAULT_ANCESTOR_DEPTH = 3;
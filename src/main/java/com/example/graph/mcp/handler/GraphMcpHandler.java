@@ -1,6 +1,7 @@
 package com.example.graph.mcp.handler;
 
 import com.example.graph.mcp.model.StreamableResponse;
+import com.example.graph.mcp.service.AlgorithmService;
 import com.example.graph.mcp.service.GraphServiceOptimized;
 import com.example.graph.mcp.config.GraphApiConfig;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +33,7 @@ public class GraphMcpHandler {
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     private final GraphServiceOptimized graphService;
+    private final AlgorithmService algorithmService;
     private final GraphApiConfig graphApiConfig;
 
     @PostMapping(value = "/relation_chain_between_stars", produces = MediaType.APPLICATION_NDJSON_VALUE)
@@ -111,6 +113,15 @@ public class GraphMcpHandler {
                 }));
     }
 
+    // 全量相似度矩阵导出：每行一条 {source, target, similarity}，边计算边输出
+    @PostMapping(value = "/jaccard_similarity_export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String, Object>> jaccardSimilarityExport(@RequestBody Map<String, Object> params) {
+        @SuppressWarnings("unchecked")
+        List<String> names = (List<String>) params.get("names");
+        boolean onlyNonZero = !Boolean.FALSE.equals(params.get("onlyNonZero"));
+        return algorithmService.jaccardSimilarityStream(names, onlyNonZero);
+    }
+
     @PostMapping(value = "/most_recent_common_ancestor", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> commonAncestor(@RequestBody Map<String, Object> params) {
         @SuppressWarnings("unchecked")
@@ -3,16 +3,43 @@ package com.example.graph.mcp.service;
 import com.example.graph.core.Graph;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import com.example.graph.algorithm.BetweennessCentrality;
 import com.example.graph.algorithm.CommunityDetection;
+import com.example.graph.algorithm.ConnectedComponents;
 import com.example.graph.algorithm.JaccardSimilarity;
+import com.example.graph.algorithm.KCoreDecomposition;
+import com.example.graph.algorithm.LabelPropagation;
+import com.example.graph.algorithm.MinHashIndex;
+import com.example.graph.algorithm.MultiSourceBfs;
+import com.example.graph.algorithm.Leiden;
 import com.example.graph.algorithm.PageRank;
+import com.example.graph.algorithm.PersonalizedPageRank;
+import com.example.graph.algorithm.ShortestPath;
+import com.example.graph.algorithm.TriangleCount;
 import com.example.graph.core.Node;
+import com.example.graph.core.CsrGraph;
+import com.example.graph.mcp.constant.GraphConstants;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @Service
@@ -21,33 +48,237 @@ public class AlgorithmService {
     @Autowired
     private GraphDataService graphDataService;
 
+    // 超过该节点数时PageRank使用并行模式
+    private static final int PARALLEL_PAGERANK_THRESHOLD = 10000;
+    // 个性化pagerank默认推送精度
+    private static final double DEFAULT_PPR_EPSILON = 1e-4;
+    // Jaccard相似度默认返回数量
+    private static final int DEFAULT_SIMILARITY_TOP_K = 20;
+    // 近似相似度默认阈值
+    private static final double DEFAULT_APPROXIMATE_THRESHOLD = 0.5;
+    // 近似介数中心性的抽样种子，固定以便结果可复现
+    private static final long BETWEENNESS_SEED = 42L;
+    // 批量跳数查询的默认跳数
+    private static final int DEFAULT_HOP_DEPTH = 2;
+    // 默认返回的最短关系链条数
+    private static final int DEFAULT_RELATION_CHAIN_K = 5;
+    // 流式导出相似度时的缓冲记录数
+    private static final int SIMILARITY_STREAM_BUFFER = 1024;
+    // 流式导出结束标记
+    private static final Map<String, Object> END_OF_STREAM = new HashMap<>();
+    // 社团检测算法名称
+    private static final String ALGORITHM_LOUVAIN = "louvain";
+    private static final String ALGORITHM_LEIDEN = "leiden";
+    private static final String ALGORITHM_LABEL_PROPAGATION = "label_propagation";
+
+    @Value("${graph.algorithm.parallelism:0}")
+    private int parallelism;
+
+    // 节点数超过该阈值时介数中心性改为抽样近似计算
+    @Value("${graph.algorithm.betweenness.exact-threshold:5000}")
+    private int betweennessExactThreshold;
+
+    // 近似介数中心性的枢纽源节点数
+    @Value("${graph.algorithm.betweenness.pivots:256}")
+    private int betweennessPivots;
+
+    // 未指定算法时，节点数超过该阈值的子图使用并行标签传播
+    @Value("${graph.algorithm.label-propagation-threshold:200000}")
+    private int labelPropagationThreshold;
+
+    // MinHash 签名长度与 LSH 分带数
+    @Value("${graph.algorithm.minhash.hashes:128}")
+    private int minHashHashes;
+
+    @Value("${graph.algorithm.minhash.bands:32}")
+    private int minHashBands;
+
+    // 共享索引最多保存的签名数，超过时淘汰最久未使用的
+    @Value("${graph.algorithm.minhash.max-size:100000}")
+    private int minHashMaxSize;
+
+    // 批量跳数查询逐层扩展时单层前沿的人数上限
+    @Value("${graph.algorithm.hop-distances.max-frontier:2000}")
+    private int hopMaxFrontier;
+
+    // 近似相似度索引，跨工具调用复用，首次使用时按配置创建
+    private MinHashIndex minHashIndex;
+
     public String communityDetection(Graph graph) throws IOException {
-        CommunityDetection detection = new CommunityDetection(graph);
+        return communityDetection(graph, null);
+    }
+
+    public String communityDetection(Graph graph, String algorithm) throws IOException {
+        CsrGraph csr = CsrGraph.from(graph);
+        if (algorithm == null || algorithm.isBlank()) {
+            algorithm = csr.getNodeCount() >= labelPropagationThreshold ? ALGORITHM_LABEL_PROPAGATION : ALGORITHM_LOUVAIN;
+        }
+        if (ALGORITHM_LABEL_PROPAGATION.equalsIgnoreCase(algorithm)) {
+            LabelPropagation propagation = new LabelPropagation(csr);
+            propagation.detectCommunities(parallelism);
+            return communityResult(csr, propagation.getMembership(), propagation.getModularity(),
+                    propagation.getLevelStats());
+        }
+        if (ALGORITHM_LEIDEN.equalsIgnoreCase(algorithm)) {
+            Leiden leiden = new Leiden(csr);
+            leiden.detectCommunities();
+            return communityResult(csr, leiden.getMembership(), leiden.getModularity(), leiden.getLevelStats());
+        }
+        CommunityDetection detection = new CommunityDetection(csr);
         detection.detectCommunities();
-        // 输出每个节点所属社团
-        var communities = detection.getCommunities(); // Map<Integer, List<Node>>
-        // 构造节点到社团编号的映射
+        return communityResult(csr, detection.getMembership(), detection.getModularity(), detection.getLevelStats());
+    }
+
+    private String communityResult(CsrGraph csr, int[] membership, double modularity,
+            List<CommunityDetection.LevelStats> levelStats) throws IOException {
+        // 输出每个节点所属社团，节点编号仅在序列化时映射回名称
         var nodeToCommunity = new HashMap<String, Integer>();
-        for (var entry : communities.entrySet()) {
-            int commId = entry.getKey();
-            for (Node node : entry.getValue()) {
-                nodeToCommunity.put(node.getId(), commId);
-            }
+        for (int i = 0; i < membership.length; i++) {
+            nodeToCommunity.put(csr.getName(i), membership[i]);
         }
         // 返回JSON
         ObjectMapper mapper = new ObjectMapper();
         var result = new HashMap<String, Object>();
         result.put("communities", nodeToCommunity);
-        result.put("modularity", detection.getModularity());
+        result.put("modularity", modularity);
+        // 每层聚合的统计信息
+        var levels = new ArrayList<Map<String, Object>>();
+        for (CommunityDetection.LevelStats stats : levelStats) {
+            var level = new LinkedHashMap<String, Object>();
+            level.put("level", stats.getLevel());
+            level.put("nodes", stats.getNodeCount());
+            level.put("communities", stats.getCommunityCount());
+            level.put("moves", stats.getMoves());
+            level.put("iterations", stats.getIterations());
+            level.put("modularity", stats.getModularity());
+            levels.add(level);
+        }
+        result.put("levels", levels);
         return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
     }
 
     public String pageank(Graph graph) throws IOException {
-        PageRank pr = new PageRank(graph);
-        pr.compute();
-        var pageRanks = pr.getPageRanks(); // Map<Node, Double>
+        CsrGraph csr = CsrGraph.from(graph);
+        PageRank pr = new PageRank(csr);
+        if (csr.getNodeCount() >= PARALLEL_PAGERANK_THRESHOLD) {
+            pr.computeParallel(parallelism);
+        } else {
+            pr.compute();
+        }
+        double[] ranks = pr.getRanks();
         var result = new HashMap<String, Double>();
-        for (var entry : pageRanks.entrySet()) {
+        for (int i = 0; i < ranks.length; i++) {
+            result.put(csr.getName(i), ranks[i]);
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    /**
+     * 介数中心性，结果按介数降序；pivots 大于0时抽样近似并给出误差估计
+     */
+    public String betweenness(Graph graph, int pivots) throws IOException {
+        BetweennessCentrality centrality = new BetweennessCentrality(graph);
+        if (pivots > 0) {
+            centrality.computeApproximate(pivots, BETWEENNESS_SEED, parallelism);
+        } else {
+            centrality.compute(parallelism);
+        }
+        CsrGraph csr = centrality.getCsrGraph();
+        double[] scores = centrality.getScores();
+        Integer[] order = new Integer[scores.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        var ranked = new LinkedHashMap<String, Double>();
+        for (int id : order) {
+            ranked.put(csr.getName(id), scores[id]);
+        }
+        var result = new LinkedHashMap<String, Object>();
+        result.put("betweenness", ranked);
+        result.put("approximate", centrality.isApproximate());
+        if (centrality.isApproximate()) {
+            result.put("pivots", centrality.getPivotCount());
+            result.put("maxStandardError", centrality.getMaxStandardError());
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    /**
+     * 三角形计数与局部聚类系数，节点按聚类系数降序（相同时三角形多的在前）
+     */
+    public String clusteringCoefficient(Graph graph) throws IOException {
+        TriangleCount triangleCount = new TriangleCount(graph);
+        triangleCount.compute(parallelism);
+        CsrGraph csr = triangleCount.getCsrGraph();
+        long[] triangles = triangleCount.getTriangleCounts();
+        double[] coefficients = triangleCount.getClusteringCoefficients();
+        Integer[] order = new Integer[coefficients.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> coefficients[a] != coefficients[b]
+                ? Double.compare(coefficients[b], coefficients[a])
+                : Long.compare(triangles[b], triangles[a]));
+        var nodes = new LinkedHashMap<String, Map<String, Object>>();
+        for (int id : order) {
+            var item = new LinkedHashMap<String, Object>();
+            item.put("triangles", triangles[id]);
+            item.put("clustering", coefficients[id]);
+            nodes.put(csr.getName(id), item);
+        }
+        var result = new LinkedHashMap<String, Object>();
+        result.put("triangles", triangleCount.getTotalTriangles());
+        result.put("averageClustering", triangleCount.getAverageClusteringCoefficient());
+        result.put("transitivity", triangleCount.getTransitivity());
+        result.put("nodes", nodes);
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    /**
+     * k-core 分解：每个节点的核数（降序），k 大于0时另外返回 k-core 的成员
+     */
+    public String kCore(Graph graph, int k) throws IOException {
+        KCoreDecomposition decomposition = new KCoreDecomposition(graph);
+        decomposition.compute();
+        CsrGraph csr = decomposition.getCsrGraph();
+        int[] cores = decomposition.getCoreNumbers();
+        Integer[] order = new Integer[cores.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(cores[b], cores[a]));
+        var coreNumbers = new LinkedHashMap<String, Integer>();
+        for (int id : order) {
+            coreNumbers.put(csr.getName(id), cores[id]);
+        }
+        var result = new LinkedHashMap<String, Object>();
+        result.put("maxCore", decomposition.getMaxCore());
+        if (k > 0) {
+            var members = new ArrayList<String>();
+            for (Node node : decomposition.getCoreNodes(k)) {
+                members.add(node.getId());
+            }
+            result.put("k", k);
+            result.put("members", members);
+        }
+        result.put("coreNumbers", coreNumbers);
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    public String personalizedPageRank(Graph graph, List<String> seedNames, double epsilon) throws IOException {
+        PersonalizedPageRank ppr = new PersonalizedPageRank(graph, 0.85, epsilon);
+        var seeds = new ArrayList<Node>();
+        for (String name : seedNames) {
+            seeds.add(new Node(name));
+        }
+        var scores = ppr.compute(seeds); // 已按分数降序
+        var result = new LinkedHashMap<String, Double>();
+        for (var entry : scores.entrySet()) {
             result.put(entry.getKey().getId(), entry.getValue());
         }
         ObjectMapper mapper = new ObjectMapper();
@@ -61,11 +292,224 @@ public class AlgorithmService {
         return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
     }
 
+    /**
+     * 只评估有共同邻居的节点对，返回全局或每个节点的前 k 个相似结果
+     */
+    public String jaccardSimilarity(Graph graph, int topK, double minSimilarity, boolean perNode)
+            throws IOException {
+        JaccardSimilarity similarity = new JaccardSimilarity(graph);
+        ObjectMapper mapper = new ObjectMapper();
+        if (perNode) {
+            var result = new LinkedHashMap<String, List<Map<String, Object>>>();
+            for (var entry : similarity.topKPerNode(topK, minSimilarity).entrySet()) {
+                var similar = new ArrayList<Map<String, Object>>();
+                for (JaccardSimilarity.SimilarPair pair : entry.getValue()) {
+                    var item = new LinkedHashMap<String, Object>();
+                    item.put("name", pair.getTarget().getId());
+                    item.put("similarity", pair.getScore());
+                    similar.add(item);
+                }
+                result.put(entry.getKey().getId(), similar);
+            }
+            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+        }
+        var result = new ArrayList<Map<String, Object>>();
+        for (JaccardSimilarity.SimilarPair pair : similarity.topK(topK, minSimilarity)) {
+            var item = new LinkedHashMap<String, Object>();
+            item.put("source", pair.getSource().getId());
+            item.put("target", pair.getTarget().getId());
+            item.put("similarity", pair.getScore());
+            result.add(item);
+        }
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    /**
+     * 将查询中心节点的签名加入（或更新到）共享的 MinHash 索引，再查询与目标近似相似的节点。
+     * 子图只含中心节点的全部搭档关系，其余节点的邻居集合不完整，不入索引；
+     * 目标既不是中心节点、此前也未入索引时，indexed 为 false
+     */
+    public String approximateSimilarity(Graph graph, List<String> centers, String name, double threshold)
+            throws IOException {
+        MinHashIndex index = getMinHashIndex();
+        index.addAll(new JaccardSimilarity(graph), centers);
+        var result = new LinkedHashMap<String, Object>();
+        result.put("target", name);
+        result.put("indexed", index.contains(name));
+        result.put("similar", index.findSimilar(name, threshold));
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    /**
+     * 多源位并行BFS，一次遍历计算每个源在 depth 跳内可达节点的跳数；
+     * truncated 表示子图扩展因前沿过大提前停止，depth 为实际完整计算的跳数
+     */
+    public String hopDistances(Graph graph, List<String> sourceNames, int depth, boolean truncated)
+            throws IOException {
+        MultiSourceBfs bfs = new MultiSourceBfs(graph);
+        var sources = new ArrayList<Node>();
+        for (String name : sourceNames) {
+            sources.add(new Node(name));
+        }
+        var distances = new LinkedHashMap<String, Map<String, Integer>>();
+        for (var entry : bfs.hopDistances(sources, depth).entrySet()) {
+            var hops = new HashMap<String, Integer>();
+            for (var hop : entry.getValue().entrySet()) {
+                hops.put(hop.getKey().getId(), hop.getValue());
+            }
+            distances.put(entry.getKey().getId(), hops);
+        }
+        var result = new LinkedHashMap<String, Object>();
+        result.put("depth", depth);
+        result.put("truncated", truncated);
+        result.put("distances", distances);
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    /**
+     * Yen算法求两人之间前 k 短的无环关系链，只保留不超过 maxHops 跳的链
+     */
+    public String kShortestRelationChains(Graph graph, String sourceName, String targetName, int k, int maxHops)
+            throws IOException {
+        var result = new ArrayList<Map<String, Object>>();
+        Node source = new Node(sourceName);
+        Node target = new Node(targetName);
+        // 两人不连通时 Yen 的第一次最短路搜索即返回空结果
+        if (graph.containsNode(source) && graph.containsNode(target)) {
+            ShortestPath shortestPath = new ShortestPath(graph);
+            for (ShortestPath.PathResult path : shortestPath.kShortestPaths(source, target, k)) {
+                if (path.getPath().size() - 1 > maxHops) {
+                    break;
+                }
+                var names = new ArrayList<String>();
+                for (Node node : path.getPath()) {
+                    names.add(node.getId());
+                }
+                var chain = new LinkedHashMap<String, Object>();
+                chain.put("rank", result.size() + 1);
+                chain.put("hops", names.size() - 1);
+                chain.put("path", names);
+                result.add(chain);
+            }
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    /**
+     * 连通分量：每个分量的大小与成员，按分量大小降序
+     */
+    public String connectedComponents(Graph graph) throws IOException {
+        ConnectedComponents components = new ConnectedComponents(graph);
+        components.compute(parallelism);
+        int[] sizes = components.getComponentSizes();
+        var ordered = new ArrayList<>(components.getComponents().entrySet());
+        ordered.sort((a, b) -> Integer.compare(sizes[b.getKey()], sizes[a.getKey()]));
+        var list = new ArrayList<Map<String, Object>>();
+        for (var entry : ordered) {
+            var names = new ArrayList<String>();
+            for (Node node : entry.getValue()) {
+                names.add(node.getId());
+            }
+            var component = new LinkedHashMap<String, Object>();
+            component.put("size", sizes[entry.getKey()]);
+            component.put("members", names);
+            list.add(component);
+        }
+        var result = new LinkedHashMap<String, Object>();
+        result.put("componentCount", components.getComponentCount());
+        result.put("components", list);
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    private synchronized MinHashIndex getMinHashIndex() {
+        if (minHashIndex == null) {
+            minHashIndex = new MinHashIndex(minHashHashes, minHashBands, minHashMaxSize);
+        }
+        return minHashIndex;
+    }
+
+    /**
+     * 流式导出子图全部节点对的Jaccard相似度，每条记录为 {source, target, similarity}。
+     * 行空间分块并行计算，结果经有界队列交给下游，内存占用与输出规模无关；下游取消时计算随之停止。
+     */
+    public Flux<Map<String, Object>> jaccardSimilarityStream(List<String> names, boolean onlyNonZero) {
+        return Flux.defer(() -> {
+            Graph graph = graphDataService.querySubgraphByNames(names);
+            JaccardSimilarity similarity = new JaccardSimilarity(graph);
+            CsrGraph csr = similarity.getCsrGraph();
+            BlockingQueue<Map<String, Object>> queue = new ArrayBlockingQueue<>(SIMILARITY_STREAM_BUFFER);
+            AtomicBoolean cancelled = new AtomicBoolean();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+            Schedulers.boundedElastic().schedule(() -> {
+                try {
+                    similarity.forEachPair(onlyNonZero, workers, (a, b, score) -> {
+                        var record = new LinkedHashMap<String, Object>();
+                        record.put("source", csr.getName(a));
+                        record.put("target", csr.getName(b));
+                        record.put("similarity", score);
+                        enqueue(queue, record, cancelled);
+                    });
+                } catch (CancellationException e) {
+                    log.info("相似度导出已取消");
+                } catch (Throwable e) {
+                    failure.set(e);
+                } finally {
+                    try {
+                        enqueue(queue, END_OF_STREAM, cancelled);
+                    } catch (CancellationException ignored) {
+                        // 下游已取消，无需结束标记
+                    }
+                }
+            });
+
+            return Flux.<Map<String, Object>>generate(sink -> {
+                try {
+                    Map<String, Object> record = queue.take();
+                    if (record == END_OF_STREAM) {
+                        if (failure.get() != null) {
+                            sink.error(failure.get());
+                        } else {
+                            sink.complete();
+                        }
+                    } else {
+                        sink.next(record);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    sink.error(e);
+                }
+            }).doFinally(signal -> cancelled.set(true))
+                    .subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    // 队列满时阻塞等待（背压），下游取消后放弃写入并终止计算
+    private static void enqueue(BlockingQueue<Map<String, Object>> queue, Map<String, Object> record,
+            AtomicBoolean cancelled) {
+        try {
+            while (!queue.offer(record, 100, TimeUnit.MILLISECONDS)) {
+                if (cancelled.get()) {
+                    throw new CancellationException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
     // 支持直接传入人名列表的社团检测
-    @Tool(name = "community_detection", description = "社团检测")
-    public String communityDetection(List<String> names) throws IOException {
+    @Tool(name = "community_detection", description = "社团检测，参数格式：1.names: [人名1, 人名2]，2.algorithm: louvain、leiden 或 label_propagation（可选，默认louvain，超大子图自动使用label_propagation）")
+    public String communityDetection(@ToolParam(description = "人名，逗号分开，用方括号括起来") List<String> names,
+            @ToolParam(description = "社团检测算法：louvain、leiden 或 label_propagation", required = false) String algorithm) throws IOException {
         Graph graph = graphDataService.querySubgraphByNames(names);
-        return communityDetection(graph);
+        return communityDetection(graph, algorithm);
     }
 
     // 支持直接传入人名列表的pagerank
@@ -75,11 +519,112 @@ public class AlgorithmService {
         return pageank(graph);
     }
 
+    // 连通分量，先判断哪些人之间存在关系链
+    @Tool(name = "connected_components", description = "连通分量，找出哪些明星之间存在关系链（互相可达），参数格式：names: [人名1, 人名2]")
+    public String connectedComponents(@ToolParam(description = "人名，逗号分开，用方括号括起来") List<String> names)
+            throws IOException {
+        Graph graph = graphDataService.querySubgraphByNames(names);
+        return connectedComponents(graph);
+    }
+
+    // 介数中心性，识别不同圈子之间的"中间人"
+    @Tool(name = "betweenness", description = "介数中心性，找出连接不同圈子的关键中间人，参数格式：1.names: [人名1, 人名2]，2.pivots: 抽样源节点数（可选，大子图默认自动抽样近似计算，0表示精确计算）")
+    public String betweenness(@ToolParam(description = "人名，逗号分开，用方括号括起来") List<String> names,
+            @ToolParam(description = "抽样源节点数，0表示精确计算", required = false) Integer pivots) throws IOException {
+        Graph graph = graphDataService.querySubgraphByNames(names);
+        int k;
+        if (pivots != null) {
+            k = Math.max(pivots, 0);
+        } else {
+            k = graph.getNodes().size() > betweennessExactThreshold ? betweennessPivots : 0;
+        }
+        return betweenness(graph, k);
+    }
+
+    // 三角形计数与聚类系数，衡量每个人圈子的紧密程度
+    @Tool(name = "clustering_coefficient", description = "三角形计数与局部聚类系数，衡量每个明星的朋友圈有多紧密（朋友之间是否互相认识），参数格式：names: [人名1, 人名2]")
+    public String clusteringCoefficient(@ToolParam(description = "人名，逗号分开，用方括号括起来") List<String> names)
+            throws IOException {
+        Graph graph = graphDataService.querySubgraphByNames(names);
+        return clusteringCoefficient(graph);
+    }
+
+    // k-core 分解，找出关系最紧密的核心圈子
+    @Tool(name = "k_core", description = "k-core分解，计算每个明星的核数，找出关系最紧密的核心圈子，参数格式：1.names: [人名1, 人名2]，2.k: 返回k-core成员（可选，默认只返回核数）")
+    public String kCore(@ToolParam(description = "人名，逗号分开，用方括号括起来") List<String> names,
+            @ToolParam(description = "返回核数不小于k的成员", required = false) Integer k) throws IOException {
+        Graph graph = graphDataService.querySubgraphByNames(names);
+        return kCore(graph, k != null ? k : 0);
+    }
+
+    // 以人名为种子的个性化pagerank，只推送种子附近的节点
+    @Tool(name = "personalized_pagerank", description = "以指定明星为种子的个性化pagerank，计算与这些人相关的重要节点，参数格式：1.names: [人名1, 人名2]，2.epsilon: 推送精度（可选，默认1e-4）")
+    public String personalizedPageRank(@ToolParam(description = "种子人名，逗号分开，用方括号括起来") List<String> names,
+            @ToolParam(description = "推送精度，越小越精确", required = false) Double epsilon) throws IOException {
+        Graph graph = graphDataService.querySubgraphByNames(names);
+        double eps = (epsilon != null && epsilon > 0) ? epsilon : DEFAULT_PPR_EPSILON;
+        return personalizedPageRank(graph, names, eps);
+    }
+
     // 支持直接传入人名列表的Jaccard相似度
-    @Tool(name = "jaccard_similarity", description = "Jaccard相似度")
-    public String jaccardSimilarity(List<String> names) throws IOException {
+    @Tool(name = "jaccard_similarity", description = "Jaccard相似度，只返回有共同邻居的最相似结果，参数格式：1.names: [人名1, 人名2]，2.topK: 返回数量（可选，默认20），3.minSimilarity: 最小相似度（可选，默认0），4.perNode: 是否按每个节点分别返回前topK个（可选，默认false）")
+    public String jaccardSimilarity(@ToolParam(description = "人名，逗号分开，用方括号括起来") List<String> names,
+            @ToolParam(description = "返回的最相似结果数量", required = false) Integer topK,
+            @ToolParam(description = "最小相似度阈值，0到1之间", required = false) Double minSimilarity,
+            @ToolParam(description = "是否按每个节点分别返回前topK个", required = false) Boolean perNode)
+            throws IOException {
         Graph graph = graphDataService.querySubgraphByNames(names);
-        return jaccardSimilarity(graph);
+        int k = (topK != null && topK > 0) ? topK : DEFAULT_SIMILARITY_TOP_K;
+        double threshold = minSimilarity != null ? minSimilarity : 0.0;
+        return jaccardSimilarity(graph, k, threshold, Boolean.TRUE.equals(perNode));
+    }
+
+    // 基于MinHash/LSH的近似相似度，签名在多次调用间复用
+    @Tool(name = "approximate_similarity", description = "基于MinHash的近似Jaccard相似度，查找与目标明星合作关系相似的人，适合合作者很多的明星，参数格式：1.names: [人名1, 人名2]，2.target: 目标人名，3.threshold: 最小相似度（可选，默认0.5）")
+    public String approximateSimilarity(@ToolParam(description = "用于构建子图的人名，逗号分开，用方括号括起来") List<String> names,
+            @ToolParam(description = "目标人名") String target,
+            @ToolParam(description = "最小相似度阈值，0到1之间", required = false) Double threshold)
+            throws IOException {
+        // 目标也作为中心节点查询，保证其签名基于完整的搭档关系
+        var centers = new ArrayList<>(new LinkedHashSet<>(names));
+        if (!centers.contains(target)) {
+            centers.add(target);
+        }
+        Graph graph = graphDataService.querySubgraphByNames(centers);
+        double t = threshold != null ? threshold : DEFAULT_APPROXIMATE_THRESHOLD;
+        return approximateSimilarity(graph, centers, target, t);
+    }
+
+    // 批量跳数查询，多个源共享一次遍历
+    @Tool(name = "hop_distances", description = "批量计算多个明星到子图中其他人的关系跳数，参数格式：1.names: [人名1, 人名2]，2.maxDepth: 最大跳数（可选，默认2，最多4）。某层待扩展人数过多时提前停止，返回结果中的depth为实际完整计算的跳数，truncated为true")
+    public String hopDistances(@ToolParam(description = "人名，逗号分开，用方括号括起来") List<String> names,
+            @ToolParam(description = "最大跳数", required = false) Integer maxDepth) throws IOException {
+        int depth = (maxDepth != null && maxDepth > 0)
+                ? Math.min(maxDepth, GraphConstants.MAX_RELATION_CHAIN_DEPTH)
+                : DEFAULT_HOP_DEPTH;
+        // 逐层扩展，前沿人数超过上限时停止，已完整扩展的层数以内的跳数都是准确的
+        GraphDataService.LayeredSubgraph subgraph = graphDataService.querySubgraphAround(names, depth,
+                hopMaxFrontier);
+        Graph graph = subgraph.getGraph();
+        // 只计算子图中存在的源
+        var sources = new ArrayList<String>();
+        for (String name : names) {
+            if (graph.containsNode(new Node(name))) {
+                sources.add(name);
+            }
+        }
+        return hopDistances(graph, sources, subgraph.getLevels(), subgraph.isTruncated());
+    }
+
+    // 两人之间排序后的前k条关系链，子图从两端各扩展一半深度
+    @Tool(name = "k_shortest_relation_chains", description = "查询两个明星之间最短的前k条好友关系链，按跳数排序，最多支持4层关系，参数格式：1.sourceName: 人名1，2.targetName: 人名2，3.k: 返回条数（可选，默认5）")
+    public String kShortestRelationChains(@ToolParam(description = "人名1") String sourceName,
+            @ToolParam(description = "人名2") String targetName,
+            @ToolParam(description = "返回的关系链条数", required = false) Integer k) throws IOException {
+        int maxHops = GraphConstants.MAX_RELATION_CHAIN_DEPTH;
+        Graph graph = graphDataService.querySubgraphAround(List.of(sourceName, targetName), (maxHops + 1) / 2);
+        int count = (k != null && k > 0) ? k : DEFAULT_RELATION_CHAIN_K;
+        return kShortestRelationChains(graph, sourceName, targetName, count, maxHops);
     }
 
 }
@@ -0,0 +1,102 @@
+package com.example.graph.mcp.service;
+
+import com.example.graph.algorithm.CommonAncestors;
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Edge;
+import com.example.graph.core.Graph;
+import com.example.graph.core.NodeDictionary;
+import com.example.graph.mcp.util.GremlinQueryUtil;
+import com.example.graph.mcp.util.QueryResultHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static com.example.graph.mcp.constant.GraphConstants.*;
+
+/**
+ * 搭档关系有向图的本地缓存：启用后在应用启动时批量导出全部边并构建共同祖先引擎，
+ * 超过有效期后在后台重新加载，加载期间继续使用旧的引擎
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AncestorGraphCache {
+    private final GremlinQueryUtil gremlinQueryUtil;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    @Value("${graph.ancestor-cache.enabled:false}")
+    private boolean enabled;
+
+    // 缓存有效期（分钟），小于等于0时不自动刷新
+    @Value("${graph.ancestor-cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private volatile CommonAncestors engine;
+    private volatile long loadedAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (enabled) {
+            refreshAsync();
+        }
+    }
+
+    /**
+     * 重新导出全部搭档关系并替换引擎
+     */
+    public synchronized void refresh() throws IOException {
+        long start = System.currentTimeMillis();
+        String gremlinQuery = String.format(ANCESTOR_EDGES_EXPORT_QUERY, CELEBRITY_RELATIONSHIP);
+        ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(gremlinQuery, Collections.emptyMap());
+        NodeDictionary dictionary = new NodeDictionary();
+        List<Edge> edges = QueryResultHandler.extractEdges(response, dictionary);
+        Graph graph = new Graph(true, false, dictionary);
+        for (Edge edge : edges) {
+            graph.addEdge(edge.getSource(), edge.getDestination());
+        }
+        engine = new CommonAncestors(CsrGraph.from(graph));
+        loadedAt = System.currentTimeMillis();
+        log.info("Ancestor graph cached: {} nodes, {} edges in {} ms",
+                graph.getNodeCount(), edges.size(), loadedAt - start);
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.error("Failed to load ancestor graph: {}", e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    public boolean isLoaded() {
+        return engine != null;
+    }
+
+    /**
+     * 当前引擎，未加载时为 null；缓存过期时触发后台刷新并返回旧引擎
+     */
+    public CommonAncestors getEngine() {
+        CommonAncestors current = engine;
+        if (enabled && current != null && ttlMinutes > 0
+                && System.currentTimeMillis() - loadedAt > TimeUnit.MINUTES.toMillis(ttlMinutes)) {
+            refreshAsync();
+        }
+        return current;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.graph.mcp.service;
 import com.example.graph.core.Graph;
 import com.example.graph.core.Node;
 import com.example.graph.core.Edge;
+import com.example.graph.core.NodeDictionary;
 import com.example.graph.mcp.util.GremlinQueryUtil;
 import com.example.graph.mcp.util.QueryResultHandler;
 import lombok.RequiredArgsConstructor;
@@ -20,43 +21,153 @@ public class GraphDataService {
      * 根据指定节点名称集合，查询这些节点及其搭档关系，组装为Graph对象
      */
     public Graph getSubgraphByNames(List<String> names) {
-        List<Node> nodes = queryNodesByNames(names);
-        List<Edge> edges = queryEdgesByNames(names);
-        return buildGraph(nodes, edges);
+        return querySubgraphByNames(names);
     }
 
     public List<Node> queryNodesByNames(List<String> names) {
+        return queryNodesByNames(names, new NodeDictionary());
+    }
+
+    public List<Node> queryNodesByNames(List<String> names, NodeDictionary dictionary) {
         GremlinQueryUtil.validateInput(names);
         try {
             Map<String, Object> params = Map.of(
                     "names", "'" + String.join("','", names) + "'");
             ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(NODES_BY_NAMES_QUERY, params);
-            return QueryResultHandler.extractNodes(response);
+            return QueryResultHandler.extractNodes(response, dictionary);
         } catch (Exception e) {
             throw new RuntimeException("queryNodesByNames error", e);
         }
     }
 
     public List<Edge> queryEdgesByNames(List<String> names) {
+        return queryEdgesByNames(names, new NodeDictionary());
+    }
+
+    public List<Edge> queryEdgesByNames(List<String> names, NodeDictionary dictionary) {
         GremlinQueryUtil.validateInput(names);
         try {
             Map<String, Object> params = Map.of(
                     "names", "'" + String.join("','", names) + "'");
             ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(EDGES_BY_NAMES_QUERY, params);
-            return QueryResultHandler.extractEdges(response);
+            return QueryResultHandler.extractEdges(response, dictionary);
         } catch (Exception e) {
             throw new RuntimeException("queryEdgesByNames error", e);
         }
     }
 
+    /**
+     * 节点解析、边解析与Graph共用同一个字典，同名节点全程只有一个实例
+     */
     public Graph querySubgraphByNames(List<String> names) {
-        List<Node> nodes = queryNodesByNames(names);
-        List<Edge> edges = queryEdgesByNames(names);
-        return buildGraph(nodes, edges);
+        NodeDictionary dictionary = new NodeDictionary();
+        List<Node> nodes = queryNodesByNames(names, dictionary);
+        List<Edge> edges = queryEdgesByNames(names, dictionary);
+        return buildGraph(nodes, edges, dictionary);
+    }
+
+    /**
+     * 从给定节点出发逐层扩展子图：每层查询当前前沿的搭档名称，扩展 hops 层后，
+     * 任意两个给定节点之间长度不超过 2 * hops 的关系链都完整包含在子图中
+     */
+    public Graph querySubgraphAround(List<String> names, int hops) {
+        return querySubgraphAround(names, hops, Integer.MAX_VALUE).getGraph();
+    }
+
+    /**
+     * 同上，但前沿人数超过 maxFrontier 时不再查询下一层，已完整扩展的层数记录在结果中
+     */
+    public LayeredSubgraph querySubgraphAround(List<String> names, int hops, int maxFrontier) {
+        NodeDictionary dictionary = new NodeDictionary();
+        Graph graph = new Graph(false, false, dictionary);
+        for (String name : names) {
+            graph.addNode(dictionary.internNode(name));
+        }
+        Set<String> expanded = new HashSet<>();
+        Set<String> edgeKeys = new HashSet<>();
+        List<String> frontier = new ArrayList<>(new LinkedHashSet<>(names));
+        for (int level = 0; level < hops && !frontier.isEmpty(); level++) {
+            if (frontier.size() > maxFrontier) {
+                return new LayeredSubgraph(graph, level, true);
+            }
+            expanded.addAll(frontier);
+            Set<String> next = new LinkedHashSet<>();
+            // 按被查询的一端取名称，两端都由查询结果给出，与边的存储方向无关
+            for (Map.Entry<String, int[]> entry : fetchNeighborIds(frontier, dictionary).entrySet()) {
+                String center = entry.getKey();
+                Node source = dictionary.internNode(center);
+                for (int id : entry.getValue()) {
+                    Node partner = dictionary.getNode(id);
+                    String name = partner.getId();
+                    // 两端都在前沿中的关系会被查询两次，无向图按无序节点对去重
+                    String key = center.compareTo(name) <= 0 ? center + '\u0000' + name
+                            : name + '\u0000' + center;
+                    if (edgeKeys.add(key)) {
+                        graph.addEdge(source, partner);
+                    }
+                    if (!expanded.contains(name)) {
+                        next.add(name);
+                    }
+                }
+            }
+            frontier = new ArrayList<>(next);
+        }
+        return new LayeredSubgraph(graph, hops, false);
+    }
+
+    private Map<String, int[]> fetchNeighborIds(List<String> names, NodeDictionary dictionary) {
+        try {
+            Map<String, Object> params = Map.of(
+                    "names", "'" + String.join("','", names) + "'");
+            String gremlinQuery = String.format(NEIGHBOR_NAMES_QUERY, CELEBRITY_LABEL, CELEBRITY_RELATIONSHIP);
+            ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(gremlinQuery, params);
+            return QueryResultHandler.extractNeighborIds(response, dictionary);
+        } catch (Exception e) {
+            throw new RuntimeException("querySubgraphAround error", e);
+        }
     }
 
-    private Graph buildGraph(List<Node> nodes, List<Edge> edges) {
-        Graph graph = new Graph(false, false);
+    /**
+     * 从给定节点出发沿入边逐层向上扩展 depth 层，得到由祖先指向后代的有向子图，
+     * 每个人 depth 层以内的祖先及其间的关系都包含在其中
+     */
+    public Graph queryAncestorSubgraph(List<String> names, int depth) {
+        NodeDictionary dictionary = new NodeDictionary();
+        Graph graph = new Graph(true, false, dictionary);
+        for (String name : names) {
+            graph.addNode(dictionary.internNode(name));
+        }
+        Set<String> expanded = new HashSet<>();
+        List<String> frontier = new ArrayList<>(new LinkedHashSet<>(names));
+        for (int level = 0; level < depth && !frontier.isEmpty(); level++) {
+            expanded.addAll(frontier);
+            Set<String> next = new LinkedHashSet<>();
+            try {
+                Map<String, Object> params = Map.of(
+                        "names", "'" + String.join("','", frontier) + "'");
+                String gremlinQuery = String.format(PARENT_NAMES_QUERY, CELEBRITY_LABEL, CELEBRITY_RELATIONSHIP);
+                ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(gremlinQuery, params);
+                for (Map.Entry<String, int[]> entry : QueryResultHandler.extractNeighborIds(response, dictionary)
+                        .entrySet()) {
+                    Node child = dictionary.internNode(entry.getKey());
+                    for (int id : entry.getValue()) {
+                        Node parent = dictionary.getNode(id);
+                        graph.addEdge(parent, child);
+                        if (!expanded.contains(parent.getId())) {
+                            next.add(parent.getId());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("queryAncestorSubgraph error", e);
+            }
+            frontier = new ArrayList<>(next);
+        }
+        return graph;
+    }
+
+    private Graph buildGraph(List<Node> nodes, List<Edge> edges, NodeDictionary dictionary) {
+        Graph graph = new Graph(false, false, dictionary);
         for (Node node : nodes) {
             graph.addNode(node);
         }
@@ -65,4 +176,31 @@ public class GraphDataService {
         }
         return graph;
     }
+
+    /**
+     * 逐层扩展的子图：levels 层以内的节点与跳数都是完整的，truncated 表示因前沿过大提前停止
+     */
+    public static class LayeredSubgraph {
+        private final Graph graph;
+        private final int levels;
+        private final boolean truncated;
+
+        public LayeredSubgraph(Graph graph, int levels, boolean truncated) {
+            this.graph = graph;
+            this.levels = levels;
+            this.truncated = truncated;
+        }
+
+        public Graph getGraph() {
+            return graph;
+        }
+
+        public int getLevels() {
+            return levels;
+        }
+
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
 }
\ No newline at end of file
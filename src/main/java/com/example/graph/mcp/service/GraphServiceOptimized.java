@@ -1,11 +1,18 @@
 package com.example.graph.mcp.service;
 
+import com.example.graph.algorithm.CommonAncestors;
+import com.example.graph.algorithm.MutualNeighbors;
+import com.example.graph.core.InvertedBitmapIndex;
+import com.example.graph.core.Node;
+import com.example.graph.core.NodeDictionary;
 import com.example.graph.mcp.util.GremlinQueryUtil;
 import com.example.graph.mcp.util.QueryResultHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Value;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import java.io.IOException;
@@ -16,7 +23,14 @@ import static com.example.graph.mcp.constant.GraphConstants.*;
 @Service
 @RequiredArgsConstructor
 public class GraphServiceOptimized {
+        private static final ObjectMapper objectMapper = new ObjectMapper();
         private final GremlinQueryUtil gremlinQueryUtil;
+        private final GraphDataService graphDataService;
+        private final AncestorGraphCache ancestorGraphCache;
+        private final WorkIndexCache workIndexCache;
+
+        @Value("${graph.algorithm.parallelism:0}")
+        private int parallelism;
 
         @Tool(name = "relation_chain_between_stars", description = "查询两个明星之间的好友关系链，返回从源明星到目标明星的路径，最多支持4层关系, 参数格式：1.sourceName: 人名1，2.targetName: 人名2")
         public String relationChain(@ToolParam(description = "人名1") String sourceName,@ToolParam(description = "人名2") String targetName) throws IOException {
@@ -33,41 +47,70 @@ public class GraphServiceOptimized {
                 return QueryResultHandler.truncateResult(QueryResultHandler.processGraphQueryResult(response));
         }
 
-        @Tool(name = "mutual_friend_between_stars", description = "查询两个明星之间的共同好友，返回他们共同的好友列表, 参数格式：names: [人名1, 人名2]")
+        @Tool(name = "mutual_friend_between_stars", description = "查询多个明星之间的共同好友，返回他们共同的好友列表及数量, 参数格式：names: [人名1, 人名2, ...]")
         public String mutualFriend(@ToolParam(description = "多个人名，逗号分开，用方括号括起来") List<String> names) throws IOException {
                 GremlinQueryUtil.validateInput(names);
-                log.debug("Finding mutual friends for {}", names);
-
+                List<String> persons = new ArrayList<>(new LinkedHashSet<>(names));
+                log.debug("Finding mutual friends for {}", persons);
 
+                // 一次查询取回所有人的搭档名称，在本地对有序编号数组求交
                 Map<String, Object> params = Map.of(
-                "name0", "'" + names.get(0) + "'",
-                "name1", "'" + names.get(1) + "'");
-
-
-              /*  Map<String, Object> params = Map.of(
-                                "names", "'" + String.join("','", names) + "'");
-*/
-                String gremlinQuery = String.format(MUTUAL_FRIEND_QUERY,
-                                CELEBRITY_LABEL, CELEBRITY_RELATIONSHIP, CELEBRITY_RELATIONSHIP, CELEBRITY_LABEL);
+                                "names", "'" + String.join("','", persons) + "'");
+                String gremlinQuery = String.format(NEIGHBOR_NAMES_QUERY, CELEBRITY_LABEL, CELEBRITY_RELATIONSHIP);
 
                 ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(gremlinQuery, params);
-                return QueryResultHandler.truncateResult(QueryResultHandler.processGraphQueryResult(response));
+                NodeDictionary dictionary = new NodeDictionary();
+                Map<String, int[]> neighbors = QueryResultHandler.extractNeighborIds(response, dictionary);
+
+                int[][] sets = new int[persons.size()][];
+                Map<String, Object> friendCounts = new LinkedHashMap<>();
+                for (int i = 0; i < persons.size(); i++) {
+                        sets[i] = neighbors.getOrDefault(persons.get(i), new int[0]);
+                        friendCounts.put(persons.get(i), sets[i].length);
+                }
+                int[] mutual = MutualNeighbors.intersect(sets);
+                List<String> mutualFriends = new ArrayList<>();
+                for (int id : mutual) {
+                        mutualFriends.add(dictionary.getName(id));
+                }
+                Collections.sort(mutualFriends);
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("names", persons);
+                result.put("friendCounts", friendCounts);
+                result.put("mutualFriendCount", mutualFriends.size());
+                result.put("mutualFriends", mutualFriends);
+                return QueryResultHandler.truncateResult(objectMapper.writeValueAsString(result));
         }
 
         @Tool(name = "dream_team_common_works", description = "查询多个明星共同参演的电影，返回他们一起合作的作品列表，参数格式：1.names: [人名1, 人名2],2.relationshipType: 合作")
         public String dreamTeam(@ToolParam(description = "多个人名，逗号分开，用方括号括起来") List<String> names) throws IOException {
                 GremlinQueryUtil.validateInput(names);
-                log.debug("Finding common works for {}", names);
+                List<String> persons = new ArrayList<>(new LinkedHashSet<>(names));
+                log.debug("Finding common works for {}", persons);
+
+                // 倒排位图索引已加载时直接对各人的作品位图求交，索引中没有的人视为没有作品
+                List<String> works;
+                InvertedBitmapIndex index = workIndexCache.getIndex();
+                if (index != null) {
+                        works = index.intersect(persons);
+                } else {
+                        Map<String, Object> params = Map.of(
+                                        "names", "'" + String.join("','", persons) + "'");
 
-                Map<String, Object> params = Map.of(
-                                "names", "'" + String.join("','", names) + "'");
+                        String gremlinQuery = String.format(DREAM_TEAM_QUERY,
+                                        CELEBRITY_LABEL, WORK_LABEL, CELEBRITY_WORK_RELATIONSHIP,
+                                        CELEBRITY_EVENT_RELATIONSHIP, persons.size());
 
-                String gremlinQuery = String.format(DREAM_TEAM_QUERY,
-                                CELEBRITY_LABEL, WORK_LABEL, CELEBRITY_WORK_RELATIONSHIP,
-                                CELEBRITY_EVENT_RELATIONSHIP, names.size());
+                        ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(gremlinQuery, params);
+                        works = new ArrayList<>(new TreeSet<>(QueryResultHandler.extractNames(response)));
+                }
 
-                ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(gremlinQuery, params);
-                return QueryResultHandler.truncateResult(QueryResultHandler.processGraphQueryResult(response));
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("names", persons);
+                result.put("commonWorkCount", works.size());
+                result.put("commonWorks", works);
+                return QueryResultHandler.truncateResult(objectMapper.writeValueAsString(result));
         }
 
         @Tool(name = "similarity_between_stars", description = "查询多个明星之间的相似度，基于指定的关系类型，返回他们之间的相似关系,参数格式：1.names: [周星驰, 吴孟达], 2.relationshipType: 合作")
@@ -94,73 +137,55 @@ public class GraphServiceOptimized {
                                 : DEFAULT_ANCESTOR_DEPTH;
                 log.debug("Finding common ancestors for {} within {} layers", names, depth);
 
-                String gremlinQuery = buildCommonAncestorQuery(names, depth);
-                Map<String, Object> params = buildQueryParams(names);
-
+                // 同名只保留一次，否则各人层数会按名称互相覆盖
+                List<String> persons = new ArrayList<>(new LinkedHashSet<>(names));
                 try {
-                        ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(gremlinQuery, params);
-                        String result = QueryResultHandler.processGraphQueryResult(response);
-
-                        if (result == null || result.trim().isEmpty() || "[]".equals(result.trim())) {
-                                log.info("No common ancestors found for {} within {} layers", names, depth);
-                                return "未找到共同祖先，可能原因：1) 在" + depth + "层内无共同祖先 2) 数据中无祖先关系 3) 节点名称不存在";
+                        // 搭档关系图已缓存在本地且包含所有人时直接使用，否则按层查询各人的祖先子图后在本地求交
+                        CommonAncestors engine = ancestorGraphCache.getEngine();
+                        if (engine == null || !containsAll(engine, persons)) {
+                                engine = new CommonAncestors(graphDataService.queryAncestorSubgraph(persons, depth));
                         }
-
-                        return QueryResultHandler.truncateResult(result);
+                        return rankCommonAncestors(engine, persons, depth);
                 } catch (Exception e) {
                         log.error("Error finding common ancestors for {}: {}", names, e.getMessage());
                         throw new IOException("查询共同祖先时发生错误: " + e.getMessage(), e);
                 }
         }
 
-        /**
-         * 构建共同祖先查询语句 - 优化版
-         */
-        private String buildCommonAncestorQuery(List<String> names, int depth) {
-                if (names.size() == 2) {
-                        // 两人共同祖先的高效查询
-                        return String.format(COMMON_ANCESTOR_TWO_PERSON_QUERY,
-                                        CELEBRITY_LABEL, CELEBRITY_RELATIONSHIP, depth,
-                                        CELEBRITY_LABEL, CELEBRITY_RELATIONSHIP, depth);
-                } else {
-                        // 多人共同祖先查询 - 使用更高效的交集算法
-                        StringBuilder query = new StringBuilder();
-
-                        // 收集所有人的祖先ID
-                        for (int i = 0; i < names.size(); i++) {
-                                if (i > 0)
-                                        query.append(".");
-                                query.append(String.format(COMMON_ANCESTOR_MULTI_PERSON_QUERY_PREFIX,
-                                                CELEBRITY_LABEL, i, CELEBRITY_RELATIONSHIP, depth, i));
-                        }
-
-                        // 查找交集 - 从第一个集合开始，逐个过滤
-                        StringBuilder filterConditions = new StringBuilder();
-                        for (int i = 1; i < names.size(); i++) {
-                                filterConditions.append(".where(__.id().is(within('ancestors").append(i).append("')))");
+        private boolean containsAll(CommonAncestors engine, List<String> names) {
+                for (String name : names) {
+                        if (engine.getCsrGraph().indexOf(new Node(name)) < 0) {
+                                return false;
                         }
-                        query.append(String.format(COMMON_ANCESTOR_MULTI_PERSON_QUERY_SUFFIX,
-                                        filterConditions.toString()));
-
-                        return query.toString();
                 }
+                return true;
         }
 
         /**
-         * 构建查询参数
+         * 计算共同祖先，按各人到祖先的层数之和从近到远排列
          */
-        private Map<String, Object> buildQueryParams(List<String> names) {
-                Map<String, Object> params = new HashMap<>();
-                if (names.size() == 2) {
-                        // 两人查询使用 person1, person2
-                        params.put("person1", names.get(0));
-                        params.put("person2", names.get(1));
-                } else {
-                        // 多人查询使用 person0, person1, person2...
+        private String rankCommonAncestors(CommonAncestors engine, List<String> names, int depth) throws IOException {
+                List<Node> persons = new ArrayList<>();
+                for (String name : names) {
+                        persons.add(new Node(name));
+                }
+                List<CommonAncestors.Ancestor> ancestors = engine.find(persons, depth, 0, parallelism);
+                if (ancestors.isEmpty()) {
+                        log.info("No common ancestors found for {} within {} layers", names, depth);
+                        return "未找到共同祖先，可能原因：1) 在" + depth + "层内无共同祖先 2) 数据中无祖先关系 3) 节点名称不存在";
+                }
+                List<Map<String, Object>> result = new ArrayList<>();
+                for (CommonAncestors.Ancestor ancestor : ancestors) {
+                        Map<String, Object> depths = new LinkedHashMap<>();
                         for (int i = 0; i < names.size(); i++) {
-                                params.put("person" + i, names.get(i));
+                                depths.put(names.get(i), ancestor.getDepths()[i]);
                         }
+                        Map<String, Object> item = new LinkedHashMap<>();
+                        item.put("name", ancestor.getNode().getId());
+                        item.put("totalDepth", ancestor.getTotalDepth());
+                        item.put("depths", depths);
+                        result.add(item);
                 }
-                return params;
+                return QueryResultHandler.truncateResult(objectMapper.writeValueAsString(result));
         }
-}
\ No newline at end of file
+}
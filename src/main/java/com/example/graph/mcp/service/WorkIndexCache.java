@@ -0,0 +1,97 @@
+package com.example.graph.mcp.service;
+
+import com.example.graph.core.InvertedBitmapIndex;
+import com.example.graph.core.NodeDictionary;
+import com.example.graph.mcp.util.GremlinQueryUtil;
+import com.example.graph.mcp.util.QueryResultHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static com.example.graph.mcp.constant.GraphConstants.*;
+
+/**
+ * 明星→作品倒排位图索引的本地缓存：启用后在应用启动时批量导出 celebrity_work / celebrity_event 关系并建索引，
+ * 超过有效期后在后台重建，重建期间继续使用旧索引
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkIndexCache {
+    private final GremlinQueryUtil gremlinQueryUtil;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    @Value("${graph.work-index.enabled:false}")
+    private boolean enabled;
+
+    // 索引有效期（分钟），小于等于0时不自动刷新
+    @Value("${graph.work-index.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private volatile InvertedBitmapIndex index;
+    private volatile long loadedAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (enabled) {
+            refreshAsync();
+        }
+    }
+
+    /**
+     * 重新导出明星与作品的关系并替换索引
+     */
+    public synchronized void refresh() throws IOException {
+        long start = System.currentTimeMillis();
+        String gremlinQuery = String.format(WORK_INDEX_EXPORT_QUERY,
+                WORK_LABEL, CELEBRITY_WORK_RELATIONSHIP, CELEBRITY_EVENT_RELATIONSHIP, CELEBRITY_LABEL);
+        ResponseEntity<String> response = gremlinQueryUtil.executeGremlinRequest(gremlinQuery, Collections.emptyMap());
+        NodeDictionary works = new NodeDictionary();
+        Map<String, int[]> postings = QueryResultHandler.extractNeighborIds(response, works);
+        InvertedBitmapIndex loaded = new InvertedBitmapIndex(postings, works);
+        index = loaded;
+        loadedAt = System.currentTimeMillis();
+        log.info("Work index built: {} celebrities, {} works, {} bytes in {} ms",
+                loaded.getKeyCount(), loaded.getItemCount(), loaded.getSizeInBytes(), loadedAt - start);
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.error("Failed to build work index: {}", e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    /**
+     * 当前索引，未加载时为 null；索引过期时触发后台重建并返回旧索引
+     */
+    public InvertedBitmapIndex getIndex() {
+        InvertedBitmapIndex current = index;
+        if (enabled && current != null && ttlMinutes > 0
+                && System.currentTimeMillis() - loadedAt > TimeUnit.MINUTES.toMillis(ttlMinutes)) {
+            refreshAsync();
+        }
+        return current;
+    }
+}
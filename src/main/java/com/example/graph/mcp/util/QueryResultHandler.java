@@ -2,12 +2,18 @@ package com.example.graph.mcp.util;
 
 import com.example.graph.core.Edge;
 import com.example.graph.core.Node;
+import com.example.graph.core.NodeDictionary;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import static com.example.graph.mcp.constant.GraphConstants.*;
 
 public class QueryResultHandler {
@@ -20,16 +26,28 @@ public class QueryResultHandler {
     }
 
     public static List<Node> extractNodes(ResponseEntity<String> response) throws IOException {
+        return extractNodes(response, new NodeDictionary());
+    }
+
+    /**
+     * 解析节点，同名节点通过字典去重为同一实例
+     */
+    public static List<Node> extractNodes(ResponseEntity<String> response, NodeDictionary dictionary)
+            throws IOException {
         String json = JsonExtractor.parseResponse(response.getBody());
         JsonNode arr = objectMapper.readTree(json);
         List<Node> result = new ArrayList<>();
+        Set<Node> seen = new HashSet<>();
 
         for (JsonNode obj : arr) {
             for (String key : new String[] { "center", "partner" }) {
                 JsonNode nodeObj = obj.get(key);
                 if (nodeObj != null && nodeObj.has(NAME_PROPERTY)) {
                     String id = nodeObj.get(NAME_PROPERTY).asText();
-                    Node node = new Node(id);
+                    Node node = dictionary.internNode(id);
+                    if (!seen.add(node)) {
+                        continue;
+                    }
                     node.setAttribute(CELEBRITY_ID_PROPERTY, nodeObj.path(CELEBRITY_ID_PROPERTY).asText(""));
                     node.setAttribute(PROFESSION_PROPERTY, nodeObj.path(PROFESSION_PROPERTY).asText(""));
                     node.setAttribute(COMPANY_PROPERTY, nodeObj.path(COMPANY_PROPERTY).asText(""));
@@ -42,6 +60,14 @@ public class QueryResultHandler {
     }
 
     public static List<Edge> extractEdges(ResponseEntity<String> response) throws IOException {
+        return extractEdges(response, new NodeDictionary());
+    }
+
+    /**
+     * 解析边，端点通过字典复用同一 Node 实例，不再为每条边新建节点
+     */
+    public static List<Edge> extractEdges(ResponseEntity<String> response, NodeDictionary dictionary)
+            throws IOException {
         String json = JsonExtractor.parseResponse(response.getBody());
         JsonNode arr = objectMapper.readTree(json);
         List<Edge> result = new ArrayList<>();
@@ -52,8 +78,8 @@ public class QueryResultHandler {
             if (eObj != null && otherObj != null && otherObj.has(NAME_PROPERTY)) {
                 String sourceId = eObj.path("outV").asText("");
                 String targetId = otherObj.get(NAME_PROPERTY).asText("");
-                Node source = new Node(sourceId);
-                Node target = new Node(targetId);
+                Node source = dictionary.internNode(sourceId);
+                Node target = dictionary.internNode(targetId);
                 double weight = 1.0;
                 if (eObj.has(WEIGHT_PROPERTY)) {
                     try {
@@ -67,6 +93,56 @@ public class QueryResultHandler {
         return result;
     }
 
+    /**
+     * 解析 valueMap('name') 结果中的名称列表，按返回顺序
+     */
+    public static List<String> extractNames(ResponseEntity<String> response) throws IOException {
+        String json = JsonExtractor.parseResponse(response.getBody());
+        JsonNode arr = objectMapper.readTree(json);
+        List<String> result = new ArrayList<>();
+        for (JsonNode obj : arr) {
+            if (obj.has(NAME_PROPERTY)) {
+                result.add(obj.get(NAME_PROPERTY).asText());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 解析 center/partner 名称对，按 center 分组为去重后升序的 partner 编号数组（编号来自字典）
+     */
+    public static Map<String, int[]> extractNeighborIds(ResponseEntity<String> response, NodeDictionary dictionary)
+            throws IOException {
+        String json = JsonExtractor.parseResponse(response.getBody());
+        JsonNode arr = objectMapper.readTree(json);
+        Map<String, List<Integer>> grouped = new LinkedHashMap<>();
+
+        for (JsonNode obj : arr) {
+            JsonNode centerObj = obj.get("center");
+            JsonNode partnerObj = obj.get("partner");
+            if (centerObj != null && partnerObj != null && centerObj.has(NAME_PROPERTY)
+                    && partnerObj.has(NAME_PROPERTY)) {
+                String center = centerObj.get(NAME_PROPERTY).asText();
+                int partner = dictionary.intern(partnerObj.get(NAME_PROPERTY).asText());
+                grouped.computeIfAbsent(center, k -> new ArrayList<>()).add(partner);
+            }
+        }
+
+        Map<String, int[]> result = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : grouped.entrySet()) {
+            int[] ids = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            Arrays.sort(ids);
+            int size = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (size == 0 || ids[size - 1] != ids[i]) {
+                    ids[size++] = ids[i];
+                }
+            }
+            result.put(entry.getKey(), Arrays.copyOf(ids, size));
+        }
+        return result;
+    }
+
     /**
      * 截断返回结果，最大保留55000字符
      */
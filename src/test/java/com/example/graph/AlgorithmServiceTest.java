@@ -0,0 +1,78 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import com.example.graph.core.Edge;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import com.example.graph.mcp.service.AlgorithmService;
+import com.example.graph.mcp.service.GraphDataService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AlgorithmServiceTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private AlgorithmService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 完整的搭档关系图，T 与 A 的搭档完全相同
+        Graph full = new Graph(false, false);
+        for (String center : List.of("A", "B", "T")) {
+            for (int i = 0; i < 6; i++) {
+                full.addEdge(new Node(center), new Node((center.equals("B") ? "y" : "x") + i));
+            }
+        }
+        // 子图只含给定人名的全部搭档关系，与 querySubgraphByNames 一致
+        GraphDataService graphDataService = new GraphDataService(null) {
+            @Override
+            public Graph querySubgraphByNames(List<String> names) {
+                Graph graph = new Graph(false, false);
+                for (String name : names) {
+                    Node node = new Node(name);
+                    if (full.containsNode(node)) {
+                        for (Edge edge : full.getEdgesFromNode(node)) {
+                            graph.addEdge(edge.getSource(), edge.getDestination());
+                        }
+                    }
+                }
+                return graph;
+            }
+        };
+        service = new AlgorithmService();
+        set("graphDataService", graphDataService);
+        set("minHashHashes", 128);
+        set("minHashBands", 32);
+        set("minHashMaxSize", 1000);
+    }
+
+    @Test
+    void testApproximateSimilarityIndexesTarget() throws Exception {
+        // T 不在 names 中，此前也未入索引
+        JsonNode result = mapper.readTree(service.approximateSimilarity(List.of("A", "B"), "T", 0.9));
+
+        assertEquals("T", result.get("target").asText());
+        assertTrue(result.get("indexed").asBoolean());
+        assertEquals(1.0, result.get("similar").get("A").asDouble(), 1e-9);
+        assertFalse(result.get("similar").has("B"));
+    }
+
+    @Test
+    void testApproximateSimilarityReportsUnknownTarget() throws Exception {
+        JsonNode result = mapper.readTree(service.approximateSimilarity(List.of("A", "B"), "Z", 0.0));
+
+        assertFalse(result.get("indexed").asBoolean());
+        assertEquals(0, result.get("similar").size());
+    }
+
+    private void set(String name, Object value) throws Exception {
+        Field field = AlgorithmService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(service, value);
+    }
+}
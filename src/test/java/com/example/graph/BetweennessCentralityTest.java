@@ -0,0 +1,83 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Random;
+
+import com.example.graph.algorithm.BetweennessCentrality;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class BetweennessCentralityTest {
+
+    @Test
+    void testPathGraph() {
+        // A-B-C-D：B 与 C 各位于 2 对节点的唯一最短路径上
+        Graph graph = new Graph(false, false);
+        graph.addEdge(new Node("A"), new Node("B"));
+        graph.addEdge(new Node("B"), new Node("C"));
+        graph.addEdge(new Node("C"), new Node("D"));
+
+        BetweennessCentrality centrality = new BetweennessCentrality(graph);
+        centrality.compute(2);
+        Map<Node, Double> scores = centrality.getBetweenness();
+
+        assertEquals(0.0, scores.get(new Node("A")), 1e-9);
+        assertEquals(2.0, scores.get(new Node("B")), 1e-9);
+        assertEquals(2.0, scores.get(new Node("C")), 1e-9);
+        assertFalse(centrality.isApproximate());
+    }
+
+    @Test
+    void testStarAndSplitPaths() {
+        // 星形中心位于 C(4,2) = 6 对叶子之间；叶子 L0 到 X 有两条等长路径（经 L1 或 L2）
+        Graph graph = new Graph(false, false);
+        for (int i = 0; i < 4; i++) {
+            graph.addEdge(new Node("center"), new Node("L" + i));
+        }
+        BetweennessCentrality centrality = new BetweennessCentrality(graph);
+        centrality.compute(0);
+        assertEquals(6.0, centrality.getBetweenness().get(new Node("center")), 1e-9);
+
+        Graph diamond = new Graph(true, true);
+        diamond.addEdge(new Node("S"), new Node("L1"), 1.0);
+        diamond.addEdge(new Node("S"), new Node("L2"), 2.0);
+        diamond.addEdge(new Node("L1"), new Node("X"), 2.0);
+        diamond.addEdge(new Node("L2"), new Node("X"), 1.0);
+        BetweennessCentrality weighted = new BetweennessCentrality(diamond);
+        weighted.compute(1);
+        assertEquals(0.5, weighted.getBetweenness().get(new Node("L1")), 1e-9);
+        assertEquals(0.5, weighted.getBetweenness().get(new Node("L2")), 1e-9);
+    }
+
+    @Test
+    void testApproximationWithinError() {
+        // 两个随机团簇由一个中间人相连
+        Graph graph = new Graph(false, false);
+        Random random = new Random(5);
+        for (int c = 0; c < 2; c++) {
+            for (int i = 0; i < 300; i++) {
+                for (int d = 0; d < 3; d++) {
+                    graph.addEdge(new Node(c + "_" + i), new Node(c + "_" + random.nextInt(300)));
+                }
+            }
+            graph.addEdge(new Node("broker"), new Node(c + "_0"));
+        }
+        BetweennessCentrality exact = new BetweennessCentrality(graph);
+        exact.compute(0);
+        BetweennessCentrality approximate = new BetweennessCentrality(graph);
+        approximate.computeApproximate(120, 7L, 0);
+
+        assertTrue(approximate.isApproximate());
+        assertEquals(120, approximate.getPivotCount());
+        assertTrue(approximate.getMaxStandardError() > 0);
+        double expected = exact.getBetweenness().get(new Node("broker"));
+        double estimate = approximate.getBetweenness().get(new Node("broker"));
+        int id = approximate.getCsrGraph().indexOf(new Node("broker"));
+        // 中间人的依赖值在各源之间几乎相同，标准误差很小，另留 5% 的抽样偏差余量
+        assertEquals(expected, estimate, Math.max(4 * approximate.getStandardErrors()[id], 0.05 * expected));
+
+    }
+}
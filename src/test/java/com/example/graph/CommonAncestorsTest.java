@@ -0,0 +1,132 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.example.graph.algorithm.CommonAncestors;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class CommonAncestorsTest {
+
+    // 边由祖先指向后代：R -> P1 -> A，R -> P2 -> B，P1 -> C，G -> R
+    private Graph buildTree() {
+        Graph graph = new Graph(true, false);
+        graph.addEdge(new Node("R"), new Node("P1"));
+        graph.addEdge(new Node("R"), new Node("P2"));
+        graph.addEdge(new Node("P1"), new Node("A"));
+        graph.addEdge(new Node("P2"), new Node("B"));
+        graph.addEdge(new Node("P1"), new Node("C"));
+        graph.addEdge(new Node("G"), new Node("R"));
+        return graph;
+    }
+
+    @Test
+    void testNearestCommonAncestorFirst() {
+        CommonAncestors engine = new CommonAncestors(buildTree());
+
+        List<CommonAncestors.Ancestor> ancestors = engine.find(List.of(new Node("A"), new Node("C")), 3, 0, 2);
+        assertEquals(3, ancestors.size());
+        assertEquals("P1", ancestors.get(0).getNode().getId());
+        assertEquals(2, ancestors.get(0).getTotalDepth());
+        assertEquals("R", ancestors.get(1).getNode().getId());
+        assertEquals("G", ancestors.get(2).getNode().getId());
+        assertArrayEquals(new int[]{3, 3}, ancestors.get(2).getDepths());
+
+        List<CommonAncestors.Ancestor> limited = engine.find(List.of(new Node("A"), new Node("C")), 3, 1, 2);
+        assertEquals(1, limited.size());
+        assertEquals("P1", limited.get(0).getNode().getId());
+    }
+
+    @Test
+    void testDepthBoundAndMissingPerson() {
+        CommonAncestors engine = new CommonAncestors(buildTree());
+        List<Node> persons = List.of(new Node("A"), new Node("B"), new Node("C"));
+
+        assertTrue(engine.find(persons, 1, 0, 0).isEmpty());
+        List<CommonAncestors.Ancestor> ancestors = engine.find(persons, 2, 0, 0);
+        assertEquals(1, ancestors.size());
+        assertEquals("R", ancestors.get(0).getNode().getId());
+        assertArrayEquals(new int[]{2, 2, 2}, ancestors.get(0).getDepths());
+
+        assertTrue(engine.find(List.of(new Node("A"), new Node("X")), 3, 0, 0).isEmpty());
+        // 本人不算作自己的祖先
+        assertTrue(engine.find(List.of(new Node("P1"), new Node("A")), 3, 0, 0).stream()
+                .noneMatch(a -> a.getNode().getId().equals("P1")));
+    }
+
+    @Test
+    void testMatchesPerPersonBfs() {
+        Random random = new Random(7);
+        int n = 300;
+        Graph graph = new Graph(true, false);
+        for (int i = 0; i < n; i++) {
+            graph.addNode(new Node("v" + i));
+        }
+        for (int i = 0; i < 900; i++) {
+            graph.addEdge(new Node("v" + random.nextInt(n)), new Node("v" + random.nextInt(n)));
+        }
+        CommonAncestors engine = new CommonAncestors(graph);
+        for (int round = 0; round < 20; round++) {
+            List<Node> persons = new ArrayList<>();
+            for (int i = 0; i < 2 + round % 4; i++) {
+                persons.add(new Node("v" + random.nextInt(n)));
+            }
+            int depth = 1 + round % 4;
+            List<Map<Node, Integer>> expected = new ArrayList<>();
+            for (Node person : persons) {
+                expected.add(ancestors(graph, person, depth));
+            }
+            Map<Node, Integer> common = new HashMap<>(expected.get(0));
+            for (Map<Node, Integer> other : expected) {
+                common.keySet().retainAll(other.keySet());
+            }
+
+            List<CommonAncestors.Ancestor> actual = engine.find(persons, depth, 0, 4);
+            assertEquals(common.size(), actual.size());
+            int previous = 0;
+            for (CommonAncestors.Ancestor ancestor : actual) {
+                int total = 0;
+                for (int i = 0; i < persons.size(); i++) {
+                    int d = expected.get(i).get(ancestor.getNode());
+                    assertEquals(d, ancestor.getDepths()[i]);
+                    total += d;
+                }
+                assertEquals(total, ancestor.getTotalDepth());
+                assertTrue(total >= previous);
+                previous = total;
+            }
+        }
+    }
+
+    // 逐人沿入边 BFS 的朴素实现
+    private Map<Node, Integer> ancestors(Graph graph, Node person, int maxDepth) {
+        Map<Node, Integer> depth = new HashMap<>();
+        depth.put(person, 0);
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(person);
+        while (!queue.isEmpty()) {
+            Node v = queue.poll();
+            int d = depth.get(v);
+            if (d == maxDepth) {
+                continue;
+            }
+            graph.forEachIncoming(v, (u, w) -> {
+                if (!depth.containsKey(u)) {
+                    depth.put(u, d + 1);
+                    queue.add(u);
+                }
+            });
+        }
+        depth.remove(person);
+        return depth;
+    }
+}
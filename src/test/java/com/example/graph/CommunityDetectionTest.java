@@ -1,6 +1,7 @@
 package com.example.graph;
 
 import com.example.graph.algorithm.CommunityDetection;
+import com.example.graph.core.CsrGraph;
 import com.example.graph.core.Graph;
 import com.example.graph.core.Node;
 import com.example.graph.core.Edge;
@@ -139,18 +140,115 @@ class CommunityDetectionTest {
     @Test
     void testModularityCalculation() {
         // 构造已知模块度的图
-        // 两个节点全连接：A-B (权重2.0)
-        Edge edgeAB = new Edge(nodeA, nodeB, 2.0);
-
-        when(mockGraph.getEdgesFromNode(nodeA)).thenReturn(List.of(edgeAB));
+        // 两条互不相连的边：A-B、C-D (权重均为2.0)
+        when(mockGraph.getEdgesFromNode(nodeA)).thenReturn(List.of(new Edge(nodeA, nodeB, 2.0)));
         when(mockGraph.getEdgesFromNode(nodeB)).thenReturn(List.of(new Edge(nodeB, nodeA, 2.0)));
-        when(mockGraph.getTotalEdgeWeight()).thenReturn(2.0); // 总权重=2
+        when(mockGraph.getEdgesFromNode(nodeC)).thenReturn(List.of(new Edge(nodeC, nodeD, 2.0)));
+        when(mockGraph.getEdgesFromNode(nodeD)).thenReturn(List.of(new Edge(nodeD, nodeC, 2.0)));
+        when(mockGraph.getTotalEdgeWeight()).thenReturn(8.0);
 
         CommunityDetection detector = new CommunityDetection(mockGraph);
         detector.detectCommunities();
 
-        // 预期模块度公式：Q = (2 - (2 * 2)/(2 * 2)) / (2 * 2) = 0.25
-        double expected = 0.25;
+        // 加权模块度 Q = Σc [Σin/2m - (Σtot/2m)^2]，2m = 8
+        // 每条边自成一个社区：Σin = 4，Σtot = 4，Q = 2 * (4/8 - (4/8)^2) = 0.5
+        double expected = 0.5;
         assertEquals(expected, detector.getModularity(), 0.001);
+        assertEquals(2, detector.getCommunities().size());
+    }
+
+    // 测试用例 6: 多层聚合（环状连接的团）
+    @Test
+    void testMultiLevelAggregation() {
+        Graph graph = new Graph(false, false);
+        int cliques = 6;
+        int size = 5;
+        for (int c = 0; c < cliques; c++) {
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    graph.addEdge(new Node(c + "-" + i), new Node(c + "-" + j), 1.0);
+                }
+            }
+            // 相邻团之间只有一条边
+            graph.addEdge(new Node(c + "-0"), new Node(((c + 1) % cliques) + "-1"), 1.0);
+        }
+
+        CommunityDetection detector = new CommunityDetection(graph);
+        detector.detectCommunities();
+
+        List<CommunityDetection.LevelStats> levels = detector.getLevelStats();
+        assertFalse(levels.isEmpty());
+        assertEquals(cliques * size, levels.get(0).getNodeCount());
+        for (int i = 1; i < levels.size(); i++) {
+            assertEquals(levels.get(i - 1).getCommunityCount(), levels.get(i).getNodeCount());
+            assertTrue(levels.get(i).getModularity() >= levels.get(i - 1).getModularity() - 1e-9);
+        }
+
+        // 每个团应落在同一社区
+        int[] membership = detector.getMembership();
+        for (int c = 0; c < cliques; c++) {
+            int id = membership[detector.getCsrGraph().indexOf(new Node(c + "-0"))];
+            for (int i = 1; i < size; i++) {
+                assertEquals(id, membership[detector.getCsrGraph().indexOf(new Node(c + "-" + i))]);
+            }
+        }
+        assertTrue(detector.getModularity() > 0.6);
+    }
+
+    // 测试用例 7: 增量维护的模块度与按划分重新计算的结果一致（带权、含自环）
+    @Test
+    void testIncrementalModularityMatchesRecomputation() {
+        Random random = new Random(3);
+        Graph graph = new Graph(false, true);
+        int groups = 8;
+        int size = 12;
+        for (int g = 0; g < groups; g++) {
+            for (int i = 0; i < size; i++) {
+                Node node = new Node(g + "-" + i);
+                graph.addEdge(node, node, 0.5 + random.nextDouble());
+                for (int j = i + 1; j < size; j++) {
+                    if (random.nextDouble() < 0.5) {
+                        graph.addEdge(node, new Node(g + "-" + j), 1.0 + 4.0 * random.nextDouble());
+                    }
+                }
+            }
+        }
+        for (int e = 0; e < 40; e++) {
+            graph.addEdge(new Node(random.nextInt(groups) + "-" + random.nextInt(size)),
+                    new Node(random.nextInt(groups) + "-" + random.nextInt(size)), 0.1 + random.nextDouble());
+        }
+
+        CommunityDetection detector = new CommunityDetection(graph);
+        detector.detectCommunities();
+
+        List<CommunityDetection.LevelStats> levels = detector.getLevelStats();
+        assertTrue(levels.size() >= 2);
+        for (CommunityDetection.LevelStats level : levels) {
+            assertEquals(modularity(detector.getCsrGraph(), level.getMembership()), level.getModularity(), 1e-9);
+        }
+        assertEquals(modularity(detector.getCsrGraph(), detector.getMembership()), detector.getModularity(), 1e-9);
+    }
+
+    // 直接按定义重新计算模块度：Q = sum_c [in_c / 2m - (tot_c / 2m)^2]
+    private double modularity(CsrGraph csr, int[] membership) {
+        Map<Integer, Double> in = new HashMap<>();
+        Map<Integer, Double> tot = new HashMap<>();
+        double total = 0.0;
+        for (int v = 0; v < csr.getNodeCount(); v++) {
+            for (int e = csr.getOffsets()[v]; e < csr.getOffsets()[v + 1]; e++) {
+                double weight = csr.getWeights()[e];
+                total += weight;
+                tot.merge(membership[v], weight, Double::sum);
+                if (membership[csr.getTargets()[e]] == membership[v]) {
+                    in.merge(membership[v], weight, Double::sum);
+                }
+            }
+        }
+        double q = 0.0;
+        for (Map.Entry<Integer, Double> entry : tot.entrySet()) {
+            double share = entry.getValue() / total;
+            q += in.getOrDefault(entry.getKey(), 0.0) / total - share * share;
+        }
+        return q;
     }
-}
\ No newline at end of file
+}
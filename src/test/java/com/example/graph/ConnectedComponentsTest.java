@@ -0,0 +1,78 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import com.example.graph.algorithm.ConnectedComponents;
+import com.example.graph.algorithm.ShortestPath;
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class ConnectedComponentsTest {
+
+    @Test
+    void testComponents() {
+        Graph graph = new Graph(false, false);
+        graph.addEdge(new Node("A"), new Node("B"));
+        graph.addEdge(new Node("B"), new Node("C"));
+        graph.addEdge(new Node("D"), new Node("E"));
+        graph.addNode(new Node("F"));
+
+        ConnectedComponents components = new ConnectedComponents(graph);
+        components.compute(2);
+
+        assertEquals(3, components.getComponentCount());
+        assertTrue(components.connected(new Node("A"), new Node("C")));
+        assertFalse(components.connected(new Node("A"), new Node("D")));
+        assertFalse(components.connected(new Node("A"), new Node("Missing")));
+        assertEquals(3, components.getComponentSize(new Node("B")));
+        assertEquals(1, components.getComponentSize(new Node("F")));
+        int total = 0;
+        for (int size : components.getComponentSizes()) {
+            total += size;
+        }
+        assertEquals(6, total);
+    }
+
+    @Test
+    void testDirectedIsWeaklyConnected() {
+        Graph graph = new Graph(true, false);
+        graph.addEdge(new Node("A"), new Node("B"));
+        graph.addEdge(new Node("C"), new Node("B"));
+
+        ConnectedComponents components = new ConnectedComponents(graph);
+        components.compute(0);
+        assertEquals(1, components.getComponentCount());
+        assertTrue(components.connected(new Node("A"), new Node("C")));
+    }
+
+    @Test
+    void testParallelMatchesBfs() {
+        // 足够多的节点以拆分出多个并行子任务
+        Graph graph = new Graph(false, false);
+        Random random = new Random(9);
+        int n = 20000;
+        for (int i = 0; i < n; i++) {
+            graph.addNode(new Node("v" + i));
+        }
+        for (int i = 0; i < n * 0.6; i++) {
+            graph.addEdge(new Node("v" + random.nextInt(n)), new Node("v" + random.nextInt(n)));
+        }
+        CsrGraph csr = CsrGraph.from(graph);
+        ConnectedComponents components = new ConnectedComponents(csr);
+        components.compute(4);
+
+        ShortestPath shortestPath = new ShortestPath(csr);
+        int[] ids = components.getComponentIds();
+        for (int s = 0; s < 20; s++) {
+            int source = random.nextInt(n);
+            double[] distances = shortestPath.bfsTree(csr.getNode(source)).getDistances();
+            for (int v = 0; v < n; v++) {
+                assertEquals(distances[v] != Double.MAX_VALUE, ids[v] == ids[source]);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.example.graph.algorithm.MultiSourceBfs;
+import com.example.graph.core.Edge;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import com.example.graph.mcp.service.GraphDataService;
+import com.example.graph.mcp.util.GremlinQueryUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+class GraphDataServiceTest {
+
+    @Test
+    void testLayeredExpansionKeepsLastHop() {
+        FakeGremlin gremlin = new FakeGremlin();
+        gremlin.relate("a", "b");
+        gremlin.relate("b", "c");
+        gremlin.relate("d", "c");
+        gremlin.relate("e", "d");
+        gremlin.relate("a", "f");
+        gremlin.relate("g", "f");
+        gremlin.relate("g", "h");
+        GraphDataService service = new GraphDataService(gremlin);
+
+        Graph graph = service.querySubgraphAround(List.of("a", "e"), 2);
+
+        // 两层扩展：a、e 为第0层，b、d、f 为第1层，c、g 为第2层的边界节点
+        assertEquals(2, gremlin.queries);
+        assertEquals(7, graph.getNodeCount());
+        assertFalse(graph.containsNode(new Node("h")));
+        for (Edge edge : graph.getEdges()) {
+            assertNotEquals(edge.getSource(), edge.getDestination());
+        }
+        // c 在两条链的最后一跳，c-b 与 c-d 都需保留
+        assertEquals(2, graph.getDegree(new Node("c")));
+        assertEquals(1, graph.getDegree(new Node("g")));
+        Map<Node, Integer> hops = new MultiSourceBfs(graph).hopDistances(List.of(new Node("a")), 4)
+                .get(new Node("a"));
+        assertEquals(4, hops.get(new Node("e")));
+    }
+
+    @Test
+    void testExpansionMatchesFullGraphDistances() {
+        FakeGremlin gremlin = new FakeGremlin();
+        Graph full = new Graph(false, false);
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            for (int d = 0; d < 2; d++) {
+                String u = "v" + i;
+                String v = "v" + random.nextInt(300);
+                if (!u.equals(v)) {
+                    // 存储方向随机，查询结果不应依赖边的方向
+                    if (random.nextBoolean()) {
+                        gremlin.relate(u, v);
+                    } else {
+                        gremlin.relate(v, u);
+                    }
+                    full.addEdge(new Node(u), new Node(v));
+                }
+            }
+        }
+        List<Node> sources = List.of(new Node("v0"), new Node("v150"));
+        int depth = 3;
+        Graph graph = new GraphDataService(gremlin).querySubgraphAround(List.of("v0", "v150"), depth);
+
+        Map<Node, Map<Node, Integer>> expected = new MultiSourceBfs(full).hopDistances(sources, depth);
+        Map<Node, Map<Node, Integer>> actual = new MultiSourceBfs(graph).hopDistances(sources, depth);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testFrontierLimitStopsExpansion() {
+        FakeGremlin gremlin = new FakeGremlin();
+        for (int i = 0; i < 5; i++) {
+            gremlin.relate("hub", "p" + i);
+            gremlin.relate("p" + i, "q" + i);
+        }
+        GraphDataService service = new GraphDataService(gremlin);
+
+        GraphDataService.LayeredSubgraph limited = service.querySubgraphAround(List.of("hub"), 3, 3);
+        assertTrue(limited.isTruncated());
+        assertEquals(1, limited.getLevels());
+        assertEquals(1, gremlin.queries);
+        assertEquals(6, limited.getGraph().getNodeCount());
+
+        GraphDataService.LayeredSubgraph full = service.querySubgraphAround(List.of("hub"), 3, 5);
+        assertFalse(full.isTruncated());
+        assertEquals(3, full.getLevels());
+        assertEquals(11, full.getGraph().getNodeCount());
+    }
+
+    // 按名称批量返回 center/partner 对，模拟 NEIGHBOR_NAMES_QUERY 的 both() 遍历
+    private static class FakeGremlin extends GremlinQueryUtil {
+        private final Map<String, Set<String>> adjacency = new HashMap<>();
+        private int queries;
+
+        FakeGremlin() {
+            super(null);
+        }
+
+        void relate(String out, String in) {
+            adjacency.computeIfAbsent(out, k -> new LinkedHashSet<>()).add(in);
+            adjacency.computeIfAbsent(in, k -> new LinkedHashSet<>()).add(out);
+        }
+
+        @Override
+        public ResponseEntity<String> executeGremlinRequest(String query, Map<String, Object> params) {
+            queries++;
+            List<String> rows = new ArrayList<>();
+            for (String quoted : params.get("names").toString().split(",")) {
+                String center = quoted.substring(1, quoted.length() - 1);
+                for (String partner : adjacency.getOrDefault(center, Set.of())) {
+                    rows.add("{\"center\":{\"name\":\"" + center + "\"},\"partner\":{\"name\":\"" + partner + "\"}}");
+                }
+            }
+            return ResponseEntity.ok("{\"data\":{\"json_view\":{\"data\":[" + String.join(",", rows) + "]}}}");
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.example.graph;
 
 
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -65,6 +68,41 @@ class GraphTest {
         assertEquals(0, directedGraph.getEdgesFromNode(nodeB).size());
     }
 
+    @Test
+    void testIncomingEdges() {
+        Graph directedGraph = new Graph(true, false);
+        directedGraph.addEdge(nodeA, nodeB);
+        directedGraph.addEdge(nodeC, nodeB);
+
+        assertEquals(2, directedGraph.getInDegree(nodeB));
+        assertEquals(0, directedGraph.getInDegree(nodeA));
+        for (Edge edge : directedGraph.getIncomingEdges(nodeB)) {
+            assertEquals(nodeB, edge.getDestination());
+        }
+
+        // 无向图中每条边在两端都可作为入边
+        assertEquals(1, graph.getInDegree(nodeA));
+        assertEquals(1, graph.getInDegree(nodeB));
+    }
+
+    @Test
+    void testForEachNeighbor() {
+        graph.addEdge(nodeA, nodeC);
+
+        List<Node> visited = new ArrayList<>();
+        double[] weightSum = new double[1];
+        graph.forEachNeighbor(nodeA, (neighbor, weight) -> {
+            visited.add(neighbor);
+            weightSum[0] += weight;
+        });
+
+        assertEquals(List.of(nodeB, nodeC), visited);
+        assertEquals(2.0, weightSum[0]);
+        assertEquals(3, graph.getNodeCount());
+        assertEquals(graph.getEdges().size(), graph.getEdgeCount());
+        assertThrows(UnsupportedOperationException.class, () -> graph.edgeView(nodeA).clear());
+    }
+
     @Test
     void testWeightedGraph() {
         Graph weightedGraph = new Graph(false, true);
@@ -86,7 +124,9 @@ class GraphTest {
         Graph subgraph = graph.createSubgraph(subNodes);
         
         assertEquals(2, subgraph.getNodes().size());
-        assertEquals(1, subgraph.getEdges().size());
-        assertTrue(subgraph.getEdgesFromNode(nodeA).size() > 0);
+        // 无向图的 A-B 在两端各存一条弧，A-C 不在子图中
+        assertEquals(2, subgraph.getEdges().size());
+        assertEquals(1, subgraph.getEdgesFromNode(nodeA).size());
+        assertEquals(1, subgraph.getEdgesFromNode(nodeB).size());
     }
 }
\ No newline at end of file
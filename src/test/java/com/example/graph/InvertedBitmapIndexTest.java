@@ -0,0 +1,77 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import com.example.graph.core.CompressedBitmap;
+import com.example.graph.core.InvertedBitmapIndex;
+import com.example.graph.core.NodeDictionary;
+import org.junit.jupiter.api.Test;
+
+class InvertedBitmapIndexTest {
+
+    @Test
+    void testCommonWorks() {
+        NodeDictionary works = new NodeDictionary();
+        Map<String, int[]> postings = new LinkedHashMap<>();
+        postings.put("周星驰", ids(works, "大话西游", "喜剧之王", "少林足球", "功夫"));
+        postings.put("吴孟达", ids(works, "大话西游", "少林足球", "赌侠"));
+        postings.put("朱茵", ids(works, "大话西游"));
+        InvertedBitmapIndex index = new InvertedBitmapIndex(postings, works);
+
+        assertTrue(index.containsKey("吴孟达"));
+        assertFalse(index.containsKey("刘德华"));
+        assertEquals(List.of("大话西游", "少林足球"), index.intersect(List.of("周星驰", "吴孟达")));
+        assertEquals(List.of("大话西游"), index.intersect(List.of("周星驰", "吴孟达", "朱茵")));
+        assertTrue(index.intersect(List.of("周星驰", "刘德华")).isEmpty());
+    }
+
+    @Test
+    void testMatchesSetIntersection() {
+        Random random = new Random(5);
+        for (int round = 0; round < 15; round++) {
+            List<CompressedBitmap> bitmaps = new ArrayList<>();
+            TreeSet<Integer> expected = null;
+            int count = 2 + random.nextInt(4);
+            for (int b = 0; b < count; b++) {
+                // 稠密块（位图容器）与稀疏块（数组容器）混合，跨多个高16位块
+                TreeSet<Integer> set = new TreeSet<>();
+                int size = random.nextBoolean() ? 20000 + random.nextInt(20000) : 100 + random.nextInt(3000);
+                int range = random.nextBoolean() ? 1 << 16 : 1 << 18;
+                while (set.size() < size) {
+                    set.add(random.nextInt(range));
+                }
+                int[] values = set.stream().mapToInt(Integer::intValue).toArray();
+                CompressedBitmap bitmap = CompressedBitmap.of(values);
+                assertArrayEquals(values, bitmap.toArray());
+                assertEquals(values.length, bitmap.getCardinality());
+                bitmaps.add(bitmap);
+                if (expected == null) {
+                    expected = new TreeSet<>(set);
+                } else {
+                    expected.retainAll(set);
+                }
+            }
+            CompressedBitmap result = CompressedBitmap.and(bitmaps);
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), result.toArray());
+            for (int probe = 0; probe < 100; probe++) {
+                int value = random.nextInt(1 << 18);
+                assertEquals(expected.contains(value), result.contains(value));
+            }
+        }
+    }
+
+    private int[] ids(NodeDictionary works, String... names) {
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (String name : names) {
+            ids.add(works.intern(name));
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.graph.algorithm.JaccardSimilarity;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JaccardSimilarityTest {
+    private Graph graph;
+    private Node nodeA, nodeB, nodeC, nodeD, nodeE;
+
+    @BeforeEach
+    void setUp() {
+        graph = new Graph(false, false);
+        nodeA = new Node("A");
+        nodeB = new Node("B");
+        nodeC = new Node("C");
+        nodeD = new Node("D");
+        nodeE = new Node("E");
+
+        // A、B 共享邻居 C、D；E 只连接 D
+        graph.addEdge(nodeA, nodeC);
+        graph.addEdge(nodeA, nodeD);
+        graph.addEdge(nodeB, nodeC);
+        graph.addEdge(nodeB, nodeD);
+        graph.addEdge(nodeE, nodeD);
+    }
+
+    @Test
+    void testPairwise() {
+        JaccardSimilarity similarity = new JaccardSimilarity(graph);
+        assertEquals(1.0, similarity.compute(nodeA, nodeB), 1e-9);
+        assertEquals(0.5, similarity.compute(nodeA, nodeE), 1e-9);
+        assertEquals(0.0, similarity.compute(nodeA, nodeC), 1e-9);
+    }
+
+    @Test
+    void testGlobalTopK() {
+        JaccardSimilarity similarity = new JaccardSimilarity(graph);
+        List<JaccardSimilarity.SimilarPair> pairs = similarity.topK(2, 0.0);
+
+        assertEquals(2, pairs.size());
+        assertEquals(1.0, pairs.get(0).getScore(), 1e-9);
+        assertTrue(pairs.get(0).getScore() >= pairs.get(1).getScore());
+        // 阈值过滤
+        for (JaccardSimilarity.SimilarPair pair : similarity.topK(100, 0.6)) {
+            assertTrue(pair.getScore() >= 0.6);
+        }
+    }
+
+    @Test
+    void testPerNodeTopK() {
+        JaccardSimilarity similarity = new JaccardSimilarity(graph);
+        Map<Node, List<JaccardSimilarity.SimilarPair>> result = similarity.topKPerNode(1, 0.0);
+
+        assertEquals(nodeB, result.get(nodeA).get(0).getTarget());
+        assertEquals(1, result.get(nodeE).size());
+    }
+
+    @Test
+    void testTopKMatchesAllPairs() {
+        Random random = new Random(3);
+        Graph randomGraph = new Graph(false, false);
+        for (int i = 0; i < 400; i++) {
+            randomGraph.addEdge(new Node("n" + random.nextInt(80)), new Node("n" + random.nextInt(80)));
+        }
+        JaccardSimilarity similarity = new JaccardSimilarity(randomGraph);
+        Map<String, Double> all = similarity.computeAll(true);
+        List<JaccardSimilarity.SimilarPair> pairs = similarity.topK(Integer.MAX_VALUE, 0.0);
+
+        // 候选剪枝不应遗漏任何非零相似度的节点对
+        assertEquals(all.size(), pairs.size());
+        for (JaccardSimilarity.SimilarPair pair : pairs) {
+            assertEquals(similarity.compute(pair.getSource(), pair.getTarget()), pair.getScore(), 1e-9);
+        }
+    }
+
+    @Test
+    void testForEachPairMatchesAllPairs() {
+        Random random = new Random(5);
+        Graph randomGraph = new Graph(false, false);
+        for (int i = 0; i < 300; i++) {
+            randomGraph.addEdge(new Node("n" + random.nextInt(60)), new Node("n" + random.nextInt(60)));
+        }
+        JaccardSimilarity similarity = new JaccardSimilarity(randomGraph);
+
+        for (boolean onlyNonZero : new boolean[] { true, false }) {
+            Map<String, Double> expected = similarity.computeAll(onlyNonZero);
+            Map<String, Double> streamed = new ConcurrentHashMap<>();
+            similarity.forEachPair(onlyNonZero, 3, (a, b, score) -> {
+                String key = similarity.getCsrGraph().getName(a) + "," + similarity.getCsrGraph().getName(b);
+                assertNull(streamed.put(key, score));
+            });
+            assertEquals(expected.size(), streamed.size());
+            for (Map.Entry<String, Double> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), streamed.get(entry.getKey()), 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import com.example.graph.algorithm.KCoreDecomposition;
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class KCoreDecompositionTest {
+
+    // 4-团 A-B-C-D，E 连接 A、B，F 悬挂在 E 上
+    private Graph buildGraph() {
+        Graph graph = new Graph(false, false);
+        String[] clique = {"A", "B", "C", "D"};
+        for (int i = 0; i < clique.length; i++) {
+            for (int j = i + 1; j < clique.length; j++) {
+                graph.addEdge(new Node(clique[i]), new Node(clique[j]));
+            }
+        }
+        graph.addEdge(new Node("E"), new Node("A"));
+        graph.addEdge(new Node("E"), new Node("B"));
+        graph.addEdge(new Node("F"), new Node("E"));
+        return graph;
+    }
+
+    @Test
+    void testCoreNumbers() {
+        KCoreDecomposition decomposition = new KCoreDecomposition(buildGraph());
+        decomposition.compute();
+
+        assertEquals(3, decomposition.getMaxCore());
+        assertEquals(3, decomposition.getCoreNumber(new Node("A")));
+        assertEquals(3, decomposition.getCoreNumber(new Node("D")));
+        assertEquals(2, decomposition.getCoreNumber(new Node("E")));
+        assertEquals(1, decomposition.getCoreNumber(new Node("F")));
+        assertEquals(Set.of(new Node("A"), new Node("B"), new Node("C"), new Node("D")),
+                decomposition.getCoreNodes(3));
+    }
+
+    @Test
+    void testKCoreSubgraph() {
+        Graph core = KCoreDecomposition.kCoreSubgraph(buildGraph(), 2);
+
+        assertEquals(5, core.getNodes().size());
+        assertFalse(core.containsNode(new Node("F")));
+        // 4-团 6 条边 + E 的 2 条边，无向图每条边按两个方向计
+        assertEquals(16, core.getEdgeCount());
+        assertEquals(2, core.getEdgesFromNode(new Node("E")).size());
+    }
+
+    @Test
+    void testMatchesNaivePeeling() {
+        Graph graph = new Graph(false, false);
+        Random random = new Random(21);
+        for (int i = 0; i < 3000; i++) {
+            graph.addEdge(new Node("v" + random.nextInt(500)), new Node("v" + random.nextInt(500)));
+        }
+        CsrGraph csr = CsrGraph.from(graph);
+        KCoreDecomposition decomposition = new KCoreDecomposition(csr);
+        decomposition.compute();
+        int[] cores = decomposition.getCoreNumbers();
+
+        // 朴素剥离：反复删除度数小于 k 的节点，剩余节点的核数不小于 k
+        for (int k = 1; k <= decomposition.getMaxCore() + 1; k++) {
+            Set<Node> remaining = new HashSet<>(graph.getNodes());
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (Node node : new ArrayList<>(remaining)) {
+                    long degree = graph.getNeighbors(node).stream()
+                            .filter(remaining::contains).filter(v -> !v.equals(node)).distinct().count();
+                    if (degree < k) {
+                        remaining.remove(node);
+                        changed = true;
+                    }
+                }
+            }
+            for (int v = 0; v < cores.length; v++) {
+                assertEquals(remaining.contains(csr.getNode(v)), cores[v] >= k);
+            }
+        }
+    }
+}
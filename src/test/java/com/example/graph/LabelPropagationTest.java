@@ -0,0 +1,55 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import com.example.graph.algorithm.LabelPropagation;
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class LabelPropagationTest {
+
+    @Test
+    void testEmptyGraph() {
+        LabelPropagation propagation = new LabelPropagation(new Graph());
+        propagation.detectCommunities();
+        assertTrue(propagation.getCommunities().isEmpty());
+        assertEquals(0.0, propagation.getModularity());
+    }
+
+    @Test
+    void testDisconnectedCliques() {
+        Graph graph = new Graph(false, false);
+        for (int c = 0; c < 4; c++) {
+            for (int i = 0; i < 6; i++) {
+                for (int j = i + 1; j < 6; j++) {
+                    graph.addEdge(new Node(c + "-" + i), new Node(c + "-" + j), 1.0);
+                }
+            }
+        }
+        LabelPropagation propagation = new LabelPropagation(graph);
+        propagation.detectCommunities(2);
+
+        assertEquals(4, propagation.getCommunities().size());
+        for (List<Node> members : propagation.getCommunities().values()) {
+            String clique = members.get(0).getId().split("-")[0];
+            assertTrue(members.stream().allMatch(n -> n.getId().startsWith(clique + "-")));
+        }
+        assertEquals(0.75, propagation.getModularity(), 1e-9);
+    }
+
+    @Test
+    void testIterationCap() {
+        Graph graph = new Graph(false, false);
+        for (int i = 0; i < 50; i++) {
+            graph.addEdge(new Node("n" + i), new Node("n" + (i + 1)), 1.0);
+        }
+        LabelPropagation propagation = new LabelPropagation(CsrGraph.from(graph), 3, 0.0);
+        propagation.detectCommunities();
+        assertTrue(propagation.getIterations() <= 3);
+        assertEquals(1, propagation.getLevelStats().size());
+    }
+}
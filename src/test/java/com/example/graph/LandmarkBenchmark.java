@@ -0,0 +1,84 @@
+package com.example.graph;
+
+import com.example.graph.algorithm.LandmarkIndex;
+import com.example.graph.algorithm.ShortestPath;
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+
+import java.util.Random;
+
+/**
+ * ALT 与普通点对点 Dijkstra 的对比：随机查询下的平均结算节点数与耗时
+ * 参数：节点数 平均度 地标数 查询数
+ */
+public class LandmarkBenchmark {
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int landmarks = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int queries = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        // 随机几何图：节点落在单位正方形内，只连接邻近节点，边权为欧氏距离（近似路网）
+        Random random = new Random(42);
+        int side = (int) Math.ceil(Math.sqrt(nodes));
+        double[] x = new double[nodes];
+        double[] y = new double[nodes];
+        for (int i = 0; i < nodes; i++) {
+            x[i] = (i % side + random.nextDouble()) / side;
+            y[i] = (i / side + random.nextDouble()) / side;
+        }
+        Graph graph = new Graph(false, true);
+        for (int i = 0; i < nodes; i++) {
+            for (int d = 0; d < degree / 2; d++) {
+                int j = d % 2 == 0 ? i + 1 : i + side;
+                if (d >= 2) {
+                    j = i + random.nextInt(3) * side + random.nextInt(3) + 1;
+                }
+                if (j < nodes) {
+                    graph.addEdge(new Node("n" + i), new Node("n" + j), Math.hypot(x[i] - x[j], y[i] - y[j]));
+                }
+            }
+        }
+
+        ShortestPath shortestPath = new ShortestPath(graph);
+        CsrGraph csr = shortestPath.getCsrGraph();
+        System.out.println("节点数: " + csr.getNodeCount() + ", 弧数: " + csr.getArcCount());
+
+        for (LandmarkIndex.Strategy strategy : LandmarkIndex.Strategy.values()) {
+            long start = System.nanoTime();
+            LandmarkIndex index = LandmarkIndex.build(csr, landmarks, strategy, 0);
+            System.out.printf("%n地标策略 %s，构建 %d 个地标耗时 %.1f ms%n",
+                    strategy, index.getLandmarks().length, (System.nanoTime() - start) / 1e6);
+
+            Random queryRandom = new Random(1);
+            long dijkstraSettled = 0;
+            long astarSettled = 0;
+            long dijkstraNanos = 0;
+            long astarNanos = 0;
+            for (int q = 0; q < queries; q++) {
+                Node source = csr.getNode(queryRandom.nextInt(csr.getNodeCount()));
+                Node target = csr.getNode(queryRandom.nextInt(csr.getNodeCount()));
+
+                start = System.nanoTime();
+                double expected = shortestPath.dijkstra(source, target).getDistance();
+                dijkstraNanos += System.nanoTime() - start;
+                dijkstraSettled += shortestPath.getSettledCount();
+
+                start = System.nanoTime();
+                double actual = shortestPath.astar(source, target, index).getDistance();
+                astarNanos += System.nanoTime() - start;
+                astarSettled += shortestPath.getSettledCount();
+
+                if (Math.abs(expected - actual) > 1e-6) {
+                    throw new IllegalStateException("距离不一致: " + source.getId() + " -> " + target.getId());
+                }
+            }
+            System.out.printf("Dijkstra: 平均结算 %d 个节点, 平均 %.3f ms%n",
+                    dijkstraSettled / queries, dijkstraNanos / 1e6 / queries);
+            System.out.printf("ALT     : 平均结算 %d 个节点, 平均 %.3f ms%n",
+                    astarSettled / queries, astarNanos / 1e6 / queries);
+            System.out.printf("结算节点减少 %.1f 倍%n", (double) dijkstraSettled / Math.max(astarSettled, 1));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import com.example.graph.algorithm.LandmarkIndex;
+import com.example.graph.algorithm.ShortestPath;
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class LandmarkIndexTest {
+
+    // 带权网格图，边权随机，保证存在大量等价的绕行路径
+    private Graph buildGrid(int size, boolean directed) {
+        Graph graph = new Graph(directed, true);
+        Random random = new Random(7);
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                Node node = new Node(r + "_" + c);
+                if (c + 1 < size) {
+                    graph.addEdge(node, new Node(r + "_" + (c + 1)), 1.0 + random.nextInt(5));
+                }
+                if (r + 1 < size) {
+                    graph.addEdge(node, new Node((r + 1) + "_" + c), 1.0 + random.nextInt(5));
+                }
+                if (directed && c > 0) {
+                    graph.addEdge(node, new Node(r + "_" + (c - 1)), 1.0 + random.nextInt(5));
+                }
+                if (directed && r > 0) {
+                    graph.addEdge(node, new Node((r - 1) + "_" + c), 1.0 + random.nextInt(5));
+                }
+            }
+        }
+        return graph;
+    }
+
+    @Test
+    void testAstarMatchesDijkstra() {
+        for (boolean directed : new boolean[]{false, true}) {
+            ShortestPath shortestPath = new ShortestPath(buildGrid(20, directed));
+            CsrGraph csr = shortestPath.getCsrGraph();
+            for (LandmarkIndex.Strategy strategy : LandmarkIndex.Strategy.values()) {
+                LandmarkIndex index = LandmarkIndex.build(csr, 4, strategy, 2);
+                Node source = new Node("0_0");
+                Node target = new Node("19_19");
+
+                ShortestPath.PathResult plain = shortestPath.dijkstra(source, target);
+                int plainSettled = shortestPath.getSettledCount();
+                ShortestPath.PathResult guided = shortestPath.astar(source, target, index);
+                int guidedSettled = shortestPath.getSettledCount();
+
+                assertEquals(shortestPath.dijkstraTree(source).getDistance(target), plain.getDistance(), 1e-9);
+                assertEquals(plain.getDistance(), guided.getDistance(), 1e-9);
+                assertEquals(source, guided.getPath().get(0));
+                assertEquals(target, guided.getPath().get(guided.getPath().size() - 1));
+                assertTrue(guidedSettled <= plainSettled);
+            }
+        }
+    }
+
+    @Test
+    void testLowerBoundIsAdmissible() {
+        ShortestPath shortestPath = new ShortestPath(buildGrid(10, true));
+        CsrGraph csr = shortestPath.getCsrGraph();
+        LandmarkIndex index = LandmarkIndex.build(csr, 3, LandmarkIndex.Strategy.FARTHEST, 0);
+        double[] distances = shortestPath.dijkstraTree(csr.getNode(0)).getDistances();
+        for (int v = 0; v < csr.getNodeCount(); v++) {
+            assertTrue(index.lowerBound(0, v) <= distances[v] + 1e-9);
+        }
+    }
+
+    @Test
+    void testLowerBoundAdmissibleWithFractionalWeights() {
+        // 长链上的节点离地标很远，而挂在链上的叶子只差很短的非整数边权：
+        // float 表值的舍入误差（约 6e-8 × 距离）远大于真实距离差，逐对检查且不留容差
+        Random random = new Random(13);
+        for (boolean directed : new boolean[]{false, true}) {
+            Graph graph = new Graph(directed, true);
+            for (int i = 0; i < 80; i++) {
+                Node node = new Node("c" + i);
+                graph.addEdge(node, new Node("c" + (i + 1)), 2000.0 + random.nextDouble());
+                graph.addEdge(node, new Node("p" + i), 0.001 * random.nextDouble());
+                if (directed) {
+                    graph.addEdge(new Node("c" + (i + 1)), node, 2000.0 + random.nextDouble());
+                }
+            }
+            ShortestPath shortestPath = new ShortestPath(graph);
+            CsrGraph csr = shortestPath.getCsrGraph();
+            LandmarkIndex index = LandmarkIndex.build(csr, 4, LandmarkIndex.Strategy.FARTHEST, 0);
+            for (int s = 0; s < csr.getNodeCount(); s++) {
+                double[] distances = shortestPath.dijkstraTree(csr.getNode(s)).getDistances();
+                for (int t = 0; t < csr.getNodeCount(); t++) {
+                    if (distances[t] != Double.MAX_VALUE) {
+                        assertTrue(index.lowerBound(s, t) <= distances[t]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testUnreachableTarget() {
+        Graph graph = buildGrid(5, false);
+        Node isolated = new Node("Isolated");
+        graph.addNode(isolated);
+        ShortestPath shortestPath = new ShortestPath(graph);
+        LandmarkIndex index = LandmarkIndex.build(shortestPath.getCsrGraph(), 2, LandmarkIndex.Strategy.HIGH_DEGREE, 0);
+
+        ShortestPath.PathResult result = shortestPath.astar(new Node("0_0"), isolated, index);
+        assertFalse(result.hasPath());
+        assertEquals(Double.MAX_VALUE, result.getDistance());
+    }
+
+    @Test
+    void testSaveAndLoad() throws Exception {
+        Graph graph = buildGrid(8, true);
+        LandmarkIndex index = LandmarkIndex.build(CsrGraph.from(graph), 3, LandmarkIndex.Strategy.FARTHEST, 0);
+        Path file = Files.createTempFile("landmarks", ".bin");
+        try {
+            index.save(file);
+            ShortestPath shortestPath = new ShortestPath(graph);
+            LandmarkIndex loaded = LandmarkIndex.load(file, shortestPath.getCsrGraph());
+            assertEquals(3, loaded.getLandmarks().length);
+
+            Node source = new Node("0_0");
+            Node target = new Node("7_7");
+            double expected = shortestPath.dijkstra(source, target).getDistance();
+            assertEquals(expected, shortestPath.astar(source, target, loaded).getDistance(), 1e-9);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
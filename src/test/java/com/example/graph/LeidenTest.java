@@ -0,0 +1,93 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import com.example.graph.algorithm.CommunityDetection;
+import com.example.graph.algorithm.Leiden;
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class LeidenTest {
+
+    // 环状连接的团，每个团应成为一个社区
+    private Graph ringOfCliques(int cliques, int size) {
+        Graph graph = new Graph(false, false);
+        for (int c = 0; c < cliques; c++) {
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    graph.addEdge(new Node(c + "-" + i), new Node(c + "-" + j), 1.0);
+                }
+            }
+            graph.addEdge(new Node(c + "-0"), new Node(((c + 1) % cliques) + "-1"), 1.0);
+        }
+        return graph;
+    }
+
+    @Test
+    void testEmptyGraph() {
+        Leiden leiden = new Leiden(new Graph());
+        leiden.detectCommunities();
+        assertTrue(leiden.getCommunities().isEmpty());
+        assertEquals(0.0, leiden.getModularity());
+    }
+
+    @Test
+    void testRingOfCliques() {
+        Leiden leiden = new Leiden(ringOfCliques(6, 5));
+        leiden.detectCommunities();
+
+        assertEquals(6, leiden.getCommunities().size());
+        for (List<Node> members : leiden.getCommunities().values()) {
+            String clique = members.get(0).getId().split("-")[0];
+            assertEquals(5, members.size());
+            assertTrue(members.stream().allMatch(n -> n.getId().startsWith(clique + "-")));
+        }
+        assertFalse(leiden.getLevelStats().isEmpty());
+    }
+
+    @Test
+    void testCommunitiesAreConnected() {
+        Random random = new Random(7);
+        Graph graph = new Graph(false, false);
+        int n = 500;
+        for (int k = 0; k < n * 4; k++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u != v) {
+                graph.addEdge(new Node("n" + u), new Node("n" + v), 1.0);
+            }
+        }
+        Leiden leiden = new Leiden(graph);
+        leiden.detectCommunities();
+
+        CsrGraph csr = leiden.getCsrGraph();
+        int[] membership = leiden.getMembership();
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        for (Map.Entry<Integer, List<Node>> entry : leiden.getCommunities().entrySet()) {
+            // 社区内 BFS 应能到达全部成员
+            Set<Integer> seen = new HashSet<>();
+            Deque<Integer> queue = new ArrayDeque<>();
+            int start = csr.indexOf(entry.getValue().get(0));
+            queue.add(start);
+            seen.add(start);
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    if (membership[targets[e]] == entry.getKey() && seen.add(targets[e])) {
+                        queue.add(targets[e]);
+                    }
+                }
+            }
+            assertEquals(entry.getValue().size(), seen.size());
+        }
+
+        CommunityDetection louvain = new CommunityDetection(csr);
+        louvain.detectCommunities();
+        assertTrue(leiden.getModularity() > louvain.getModularity() - 0.05);
+    }
+}
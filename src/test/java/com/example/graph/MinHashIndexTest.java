@@ -0,0 +1,106 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.graph.algorithm.JaccardSimilarity;
+import com.example.graph.algorithm.MinHashIndex;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class MinHashIndexTest {
+
+    // A 与 B 共享 60 个合作者中的 40 个（Jaccard = 40/80 = 0.5），C 与 A 完全相同
+    private Graph buildGraph() {
+        Graph graph = new Graph(false, false);
+        for (int i = 0; i < 60; i++) {
+            graph.addEdge(new Node("A"), new Node("w" + i));
+            graph.addEdge(new Node("C"), new Node("w" + i));
+        }
+        for (int i = 20; i < 80; i++) {
+            graph.addEdge(new Node("B"), new Node("w" + i));
+        }
+        return graph;
+    }
+
+    @Test
+    void testEstimateCloseToExact() {
+        Graph graph = buildGraph();
+        JaccardSimilarity exact = new JaccardSimilarity(graph);
+        MinHashIndex index = new MinHashIndex(256, 64);
+        index.addAll(exact);
+
+        assertEquals(exact.compute("A", "B"), index.estimate("A", "B"), 0.15);
+        assertEquals(1.0, index.estimate("A", "C"), 1e-9);
+        assertEquals(0.0, index.estimate("A", "missing"));
+    }
+
+    @Test
+    void testFindSimilar() {
+        MinHashIndex index = new MinHashIndex(128, 32);
+        index.addAll(new JaccardSimilarity(buildGraph()));
+
+        Map<String, Double> similar = index.findSimilar("A", 0.9);
+        assertTrue(similar.containsKey("C"));
+        assertFalse(similar.containsKey("A"));
+        assertFalse(similar.containsKey("B"));
+    }
+
+    @Test
+    void testSignaturesReusableAcrossGraphs() {
+        MinHashIndex index = new MinHashIndex(128, 32);
+        Graph first = new Graph(false, false);
+        Graph second = new Graph(false, false);
+        // 两个子图中节点编号不同，但邻居名称相同时签名一致
+        for (int i = 0; i < 30; i++) {
+            first.addEdge(new Node("X"), new Node("w" + i));
+            second.addEdge(new Node("w" + (29 - i)), new Node("Y"));
+        }
+        index.addAll(new JaccardSimilarity(first));
+        index.addAll(new JaccardSimilarity(second));
+
+        assertEquals(1.0, index.estimate("X", "Y"), 1e-9);
+        assertTrue(index.findSimilar("X", 0.5).containsKey("Y"));
+    }
+
+    @Test
+    void testOnlyCentersIndexed() {
+        MinHashIndex index = new MinHashIndex(128, 32);
+        index.addAll(new JaccardSimilarity(buildGraph()), List.of("A", "B"));
+        assertTrue(index.contains("A"));
+        assertFalse(index.contains("C"));
+        assertFalse(index.contains("w0"));
+
+        // 以 B 为中心的子图里 A 只剩与 B 共享的搭档，不应覆盖 A 的完整签名
+        Graph partial = new Graph(false, false);
+        for (int i = 20; i < 80; i++) {
+            partial.addEdge(new Node("B"), new Node("w" + i));
+        }
+        partial.addEdge(new Node("A"), new Node("w20"));
+        double before = index.estimate("A", "B");
+        index.addAll(new JaccardSimilarity(partial), List.of("B"));
+        assertEquals(before, index.estimate("A", "B"), 1e-9);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        MinHashIndex index = new MinHashIndex(128, 32, 2);
+        index.addAll(new JaccardSimilarity(buildGraph()), List.of("A", "B"));
+        index.estimate("A", "A");
+        index.addAll(new JaccardSimilarity(buildGraph()), List.of("C"));
+
+        assertEquals(2, index.size());
+        assertTrue(index.contains("A"));
+        assertFalse(index.contains("B"));
+        assertTrue(index.findSimilar("A", 0.9).containsKey("C"));
+        assertTrue(index.findSimilar("C", 0.0).keySet().stream().allMatch(index::contains));
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHashIndex(100, 32));
+    }
+}
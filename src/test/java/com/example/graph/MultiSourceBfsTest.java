@@ -0,0 +1,71 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.example.graph.algorithm.MultiSourceBfs;
+import com.example.graph.algorithm.ShortestPath;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class MultiSourceBfsTest {
+
+    @Test
+    void testChainHops() {
+        Graph graph = new Graph(false, false);
+        for (int i = 0; i < 6; i++) {
+            graph.addEdge(new Node("n" + i), new Node("n" + (i + 1)));
+        }
+        MultiSourceBfs bfs = new MultiSourceBfs(graph);
+        Map<Node, Map<Node, Integer>> result = bfs.hopDistances(List.of(new Node("n0"), new Node("n3")), 2);
+
+        Map<Node, Integer> fromN0 = result.get(new Node("n0"));
+        assertEquals(3, fromN0.size());
+        assertEquals(0, fromN0.get(new Node("n0")));
+        assertEquals(2, fromN0.get(new Node("n2")));
+        assertNull(fromN0.get(new Node("n3")));
+
+        Map<Node, Integer> fromN3 = result.get(new Node("n3"));
+        assertEquals(5, fromN3.size());
+        assertEquals(2, fromN3.get(new Node("n1")));
+        assertEquals(2, fromN3.get(new Node("n5")));
+    }
+
+    @Test
+    void testMatchesSingleSourceBfs() {
+        // 有向随机图，源数超过一批（64），并包含重复的源
+        Graph graph = new Graph(true, false);
+        Random random = new Random(11);
+        for (int i = 0; i < 400; i++) {
+            for (int d = 0; d < 3; d++) {
+                graph.addEdge(new Node("v" + i), new Node("v" + random.nextInt(400)));
+            }
+        }
+        List<Node> sources = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            sources.add(new Node("v" + random.nextInt(400)));
+        }
+        int maxDepth = 4;
+        MultiSourceBfs bfs = new MultiSourceBfs(graph);
+        Map<Node, Map<Node, Integer>> result = bfs.hopDistances(sources, maxDepth);
+
+        ShortestPath shortestPath = new ShortestPath(graph);
+        for (Node source : sources) {
+            Map<Node, Integer> hops = result.get(source);
+            ShortestPath.ShortestPathTree tree = shortestPath.bfsTree(source);
+            for (Node node : graph.getNodes()) {
+                double expected = tree.getDistance(node);
+                if (expected <= maxDepth) {
+                    assertEquals((int) expected, hops.get(node));
+                } else {
+                    assertFalse(hops.containsKey(node));
+                }
+            }
+        }
+    }
+}
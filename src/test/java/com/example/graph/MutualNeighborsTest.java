@@ -0,0 +1,53 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import com.example.graph.algorithm.MutualNeighbors;
+import org.junit.jupiter.api.Test;
+
+class MutualNeighborsTest {
+
+    @Test
+    void testIntersect() {
+        int[] a = {1, 3, 5, 7, 9};
+        int[] b = {3, 4, 5, 9, 10};
+        int[] c = {0, 3, 9};
+
+        assertArrayEquals(new int[]{3, 9}, MutualNeighbors.intersect(a, b, c));
+        assertArrayEquals(new int[0], MutualNeighbors.intersect(a, new int[0], c));
+        assertArrayEquals(new int[0], MutualNeighbors.intersect());
+
+        int[] single = MutualNeighbors.intersect(a);
+        assertArrayEquals(a, single);
+        assertNotSame(a, single);
+    }
+
+    @Test
+    void testMatchesSetIntersection() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            int groups = 2 + random.nextInt(9);
+            int[][] sets = new int[groups][];
+            TreeSet<Integer> expected = null;
+            for (int g = 0; g < groups; g++) {
+                // 长度相差悬殊的数组覆盖倍增查找分支
+                int size = random.nextBoolean() ? 1 + random.nextInt(8) : 200 + random.nextInt(2000);
+                TreeSet<Integer> set = new TreeSet<>();
+                while (set.size() < size) {
+                    set.add(random.nextInt(4000));
+                }
+                sets[g] = set.stream().mapToInt(Integer::intValue).toArray();
+                if (expected == null) {
+                    expected = new TreeSet<>(set);
+                } else {
+                    expected.retainAll(set);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(),
+                    MutualNeighbors.intersect(sets));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.graph;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Map;
+import java.util.Random;
 
 import com.example.graph.algorithm.PageRank;
 import com.example.graph.core.Graph;
@@ -70,6 +71,31 @@ class PageRankTest {
         assertTrue(rankD > 0);
     }
 
+    @Test
+    void testParallelMatchesSequential() {
+        Graph largeGraph = new Graph(true, false);
+        Random random = new Random(42);
+        Node[] nodes = new Node[5000];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node("N" + i);
+            largeGraph.addNode(nodes[i]);
+        }
+        for (int i = 0; i < 20000; i++) {
+            largeGraph.addEdge(nodes[random.nextInt(nodes.length)], nodes[random.nextInt(nodes.length)]);
+        }
+
+        PageRank sequential = new PageRank(largeGraph);
+        sequential.compute();
+        PageRank parallel = new PageRank(largeGraph);
+        parallel.computeParallel(4);
+
+        Map<Node, Double> expected = sequential.getPageRanks();
+        Map<Node, Double> actual = parallel.getPageRanks();
+        for (Node node : nodes) {
+            assertEquals(expected.get(node), actual.get(node), 1e-12);
+        }
+    }
+
     @Test
     void testSingleNodeGraph() {
         Graph singleNodeGraph = new Graph(true, false);
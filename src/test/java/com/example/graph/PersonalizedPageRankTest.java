@@ -0,0 +1,66 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.graph.algorithm.PersonalizedPageRank;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PersonalizedPageRankTest {
+    private Graph graph;
+    private Node nodeA, nodeB, nodeC, nodeD, nodeE;
+
+    @BeforeEach
+    void setUp() {
+        graph = new Graph(false, false);
+        nodeA = new Node("A");
+        nodeB = new Node("B");
+        nodeC = new Node("C");
+        nodeD = new Node("D");
+        nodeE = new Node("E");
+
+        // A-B-C chain, D-E disconnected component
+        graph.addEdge(nodeA, nodeB);
+        graph.addEdge(nodeB, nodeC);
+        graph.addEdge(nodeD, nodeE);
+    }
+
+    @Test
+    void testScoresDecayAwayFromSeed() {
+        PersonalizedPageRank ppr = new PersonalizedPageRank(graph, 0.85, 1e-6);
+        Map<Node, Double> scores = ppr.compute(List.of(nodeA));
+
+        assertTrue(scores.get(nodeA) > scores.get(nodeC));
+        assertTrue(scores.get(nodeB) > scores.get(nodeC));
+
+        // Probability mass never exceeds one
+        double sum = scores.values().stream().mapToDouble(Double::doubleValue).sum();
+        assertTrue(sum <= 1.0 + 1e-9);
+    }
+
+    @Test
+    void testOnlyTouchesSeedNeighborhood() {
+        PersonalizedPageRank ppr = new PersonalizedPageRank(graph, 0.85, 1e-6);
+        Map<Node, Double> scores = ppr.compute(List.of(nodeA));
+
+        assertFalse(scores.containsKey(nodeD));
+        assertFalse(scores.containsKey(nodeE));
+        assertEquals(3, ppr.getTouchedCount());
+    }
+
+    @Test
+    void testReuseAcrossSeeds() {
+        PersonalizedPageRank ppr = new PersonalizedPageRank(graph, 0.85, 1e-6);
+        ppr.compute(List.of(nodeA));
+        Map<Node, Double> scores = ppr.compute(List.of(nodeD));
+
+        assertEquals(2, scores.size());
+        assertEquals(scores.get(nodeD), scores.values().iterator().next());
+        assertEquals(1, ppr.topK(List.of(nodeD), 1).size());
+    }
+}
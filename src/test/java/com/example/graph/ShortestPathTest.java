@@ -2,8 +2,11 @@ package com.example.graph;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import com.example.graph.algorithm.ShortestPath;
 import com.example.graph.core.Graph;
@@ -102,4 +105,112 @@ class ShortestPathTest {
         assertEquals(nodeA, aResult.getPath().get(0));
         assertEquals(0.0, aResult.getDistance());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBidirectionalBfs() {
+        ShortestPath shortestPath = new ShortestPath(unweightedGraph);
+        ShortestPath.PathResult result = shortestPath.shortestPath(nodeD, nodeC);
+
+        assertEquals(3.0, result.getDistance());
+        assertEquals(List.of(nodeD, nodeA, nodeB, nodeC), result.getPath());
+    }
+
+    @Test
+    void testBidirectionalDijkstra() {
+        ShortestPath shortestPath = new ShortestPath(weightedGraph);
+        ShortestPath.PathResult result = shortestPath.shortestPath(nodeB, nodeD);
+
+        // B->A->D = 2，B->C->D = 3
+        assertEquals(2.0, result.getDistance());
+        assertEquals(List.of(nodeB, nodeA, nodeD), result.getPath());
+
+        // 同一实例重复查询
+        assertEquals(2.0, shortestPath.shortestPath(nodeA, nodeC).getDistance());
+    }
+
+    @Test
+    void testPointToPointUnreachable() {
+        Node isolated = new Node("Isolated");
+        unweightedGraph.addNode(isolated);
+
+        ShortestPath shortestPath = new ShortestPath(unweightedGraph);
+        ShortestPath.PathResult result = shortestPath.shortestPath(nodeA, isolated);
+        assertFalse(result.hasPath());
+        assertEquals(Double.MAX_VALUE, result.getDistance());
+    }
+
+    @Test
+    void testShortestPathTree() {
+        ShortestPath shortestPath = new ShortestPath(weightedGraph);
+        ShortestPath.ShortestPathTree tree = shortestPath.dijkstraTree(nodeB);
+
+        assertEquals(nodeB, tree.getSource());
+        assertEquals(2.0, tree.getDistance(nodeC));
+        assertEquals(2.0, tree.getDistance(nodeD));
+        ShortestPath.PathResult toD = tree.getPath(nodeD);
+        assertTrue(toD.hasPath());
+        assertEquals(List.of(nodeB, nodeA, nodeD), toD.getPath());
+        assertFalse(tree.getPath(new Node("Missing")).hasPath());
+    }
+
+    @Test
+    void testKShortestPaths() {
+        ShortestPath shortestPath = new ShortestPath(weightedGraph);
+        List<ShortestPath.PathResult> paths = shortestPath.kShortestPaths(nodeA, nodeC, 5);
+
+        // A 到 C 只有三条无环路径
+        assertEquals(3, paths.size());
+        assertEquals(List.of(nodeA, nodeD, nodeC), paths.get(0).getPath());
+        assertEquals(2.0, paths.get(0).getDistance());
+        assertEquals(List.of(nodeA, nodeB, nodeC), paths.get(1).getPath());
+        assertEquals(3.0, paths.get(1).getDistance());
+        assertEquals(List.of(nodeA, nodeC), paths.get(2).getPath());
+        assertEquals(4.0, paths.get(2).getDistance());
+
+        assertEquals(1, shortestPath.kShortestPaths(nodeA, nodeC, 1).size());
+        assertTrue(shortestPath.kShortestPaths(nodeA, nodeC, 0).isEmpty());
+    }
+
+    @Test
+    void testKShortestPathsMatchesEnumeration() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            Graph graph = new Graph(round % 2 == 0, true);
+            for (int i = 0; i < 20; i++) {
+                graph.addEdge(new Node("v" + random.nextInt(8)), new Node("v" + random.nextInt(8)),
+                        1 + random.nextInt(4));
+            }
+            graph.addNode(new Node("v0"));
+            graph.addNode(new Node("v7"));
+            List<Double> expected = new ArrayList<>();
+            enumerate(graph, new Node("v0"), new Node("v7"), new ArrayList<>(List.of(new Node("v0"))), 0.0, expected);
+            expected.sort(Double::compare);
+
+            List<ShortestPath.PathResult> paths = new ShortestPath(graph).kShortestPaths(new Node("v0"), new Node("v7"), 10);
+            assertEquals(Math.min(10, expected.size()), paths.size());
+            for (int i = 0; i < paths.size(); i++) {
+                assertEquals(expected.get(i), paths.get(i).getDistance(), 1e-9);
+                assertEquals(paths.get(i).getPath().size(), paths.get(i).getPath().stream().distinct().count());
+            }
+        }
+    }
+
+    // 枚举全部无环路径的长度（多重边各算一条路径时取最短的一条，与按节点序列判重一致）
+    private void enumerate(Graph graph, Node current, Node target, List<Node> path, double length, List<Double> out) {
+        if (current.equals(target)) {
+            out.add(length);
+            return;
+        }
+        Map<Node, Double> best = new HashMap<>();
+        for (var edge : graph.getEdgesFromNode(current)) {
+            best.merge(edge.getDestination(), edge.getWeight(), Math::min);
+        }
+        for (var entry : best.entrySet()) {
+            if (!path.contains(entry.getKey())) {
+                path.add(entry.getKey());
+                enumerate(graph, entry.getKey(), target, path, length + entry.getValue(), out);
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+}
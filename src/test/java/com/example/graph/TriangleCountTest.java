@@ -0,0 +1,89 @@
+package com.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import com.example.graph.algorithm.TriangleCount;
+import com.example.graph.core.CsrGraph;
+import com.example.graph.core.Graph;
+import com.example.graph.core.Node;
+import org.junit.jupiter.api.Test;
+
+class TriangleCountTest {
+
+    @Test
+    void testSmallGraph() {
+        // 三角形 A-B-C 与 B-C-D，外加悬挂节点 E；重边与自环不影响结果
+        Graph graph = new Graph(false, false);
+        graph.addEdge(new Node("A"), new Node("B"));
+        graph.addEdge(new Node("B"), new Node("C"));
+        graph.addEdge(new Node("A"), new Node("C"));
+        graph.addEdge(new Node("B"), new Node("D"));
+        graph.addEdge(new Node("C"), new Node("D"));
+        graph.addEdge(new Node("D"), new Node("E"));
+        graph.addEdge(new Node("A"), new Node("B"));
+        graph.addEdge(new Node("A"), new Node("A"));
+
+        TriangleCount triangleCount = new TriangleCount(graph);
+        triangleCount.compute(2);
+
+        assertEquals(2, triangleCount.getTotalTriangles());
+        assertEquals(1.0, triangleCount.getClusteringCoefficient(new Node("A")), 1e-9);
+        // B 的邻居 A、C、D 中有 A-C、C-D 两对相连
+        assertEquals(2.0 / 3.0, triangleCount.getClusteringCoefficient(new Node("B")), 1e-9);
+        assertEquals(1.0 / 3.0, triangleCount.getClusteringCoefficient(new Node("D")), 1e-9);
+        assertEquals(0.0, triangleCount.getClusteringCoefficient(new Node("E")), 1e-9);
+        // 连通三元组：A 1，B 3，C 3，D 3，E 0
+        assertEquals(3.0 * 2 / 10, triangleCount.getTransitivity(), 1e-9);
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        for (boolean directed : new boolean[]{false, true}) {
+            Graph graph = new Graph(directed, false);
+            Random random = new Random(13);
+            int n = 3000;
+            for (int i = 0; i < n * 4; i++) {
+                // 部分节点度数很高，覆盖定向后的不均衡情况
+                int u = random.nextInt(10) == 0 ? random.nextInt(20) : random.nextInt(n);
+                graph.addEdge(new Node("v" + u), new Node("v" + random.nextInt(n)));
+            }
+            CsrGraph csr = CsrGraph.from(graph);
+            TriangleCount triangleCount = new TriangleCount(csr);
+            triangleCount.compute(4);
+
+            int size = csr.getNodeCount();
+            @SuppressWarnings("unchecked")
+            Set<Integer>[] adjacency = new Set[size];
+            for (int v = 0; v < size; v++) {
+                adjacency[v] = new HashSet<>();
+            }
+            for (int u = 0; u < size; u++) {
+                for (int e = csr.getOffsets()[u]; e < csr.getOffsets()[u + 1]; e++) {
+                    int v = csr.getTargets()[e];
+                    if (u != v) {
+                        adjacency[u].add(v);
+                        adjacency[v].add(u);
+                    }
+                }
+            }
+            long total = 0;
+            for (int u = 0; u < size; u++) {
+                long local = 0;
+                for (int v : adjacency[u]) {
+                    for (int w : adjacency[u]) {
+                        if (v < w && adjacency[v].contains(w)) {
+                            local++;
+                        }
+                    }
+                }
+                assertEquals(local, triangleCount.getTriangleCounts()[u]);
+                total += local;
+            }
+            assertEquals(total / 3, triangleCount.getTotalTriangles());
+        }
+    }
+}